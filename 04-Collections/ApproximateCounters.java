@@ -0,0 +1,591 @@
+/**
+ * ApproximateCounters.java
+ *
+ * This program demonstrates counting in fixed memory by accepting a bounded
+ * error. An exact Map<String, Integer> (HashMapDemo.countWords()) needs an
+ * entry for every distinct word; with hundreds of millions of distinct words
+ * it no longer fits in the heap. These structures have a size chosen up front
+ * that does not grow with the input:
+ *
+ * - CountMinSketch: "how often did word w appear?"
+ *     Never underestimates. Overestimates by at most epsilon * total words,
+ *     with probability at least 1 - delta.
+ *     Memory: ceil(e / epsilon) * ceil(ln(1 / delta)) longs.
+ *
+ * - SpaceSaving: "which words are the most frequent?"
+ *     Keeps k candidate words. Every word that makes up more than 1/k of the
+ *     input is guaranteed to be among them, and each reported count is at
+ *     most total / k too high.
+ *     Memory: k entries.
+ *
+ * - HyperLogLog: "how many distinct words are there?"
+ *     Relative standard error about 1.04 / sqrt(m).
+ *     Memory: m = 2^precision one-byte registers (16 KB gives about 0.8%).
+ *
+ * ApproximateWordCounter feeds one text into all three at once.
+ *
+ * Key Concepts:
+ * - Trading exactness for constant memory
+ * - One 64-bit hash per word, split into several hash functions
+ * - Min-heap with positions for O(log k) Space-Saving updates
+ * - Leading-zero counting and harmonic means (HyperLogLog)
+ * - Mergeable summaries: sketches from different threads can be combined
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class ApproximateCounters {
+
+    public static void main(String[] args) {
+
+        System.out.println("========== APPROXIMATE COUNTERS DEMONSTRATION ==========\n");
+
+        // 3M words: a few very common ones and a long tail
+        Random random = new Random(23);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3_000_000; i++) {
+            int rank = (int) Math.exp(random.nextDouble() * Math.log(1_000_000));
+            text.append('w').append(rank).append(' ');
+        }
+
+        FrequencyCounters.StringCounter exact = new FrequencyCounters.StringCounter();
+        WhitespaceTokenizer tokens = new WhitespaceTokenizer(text);
+        while (tokens.next()) {
+            exact.increment(text, tokens.start(), tokens.end(), WhitespaceTokenizer.COPY);
+        }
+
+        ApproximateWordCounter approximate = new ApproximateWordCounter(0.0001, 0.01, 100, 0.01);
+        approximate.addText(text);
+
+
+        // ========== DISTINCT COUNT ==========
+
+        System.out.println("--- 1. HyperLogLog: Distinct Words ---\n");
+
+        long estimate = approximate.distinct().estimate();
+        System.out.println("Exact distinct:     " + exact.size());
+        System.out.printf("Estimated distinct: %d (%.2f%% off)%n", estimate,
+            100.0 * Math.abs(estimate - exact.size()) / exact.size());
+        System.out.println("Registers:          " + approximate.distinct().memoryBytes() + " bytes");
+
+
+        // ========== PER-WORD FREQUENCY ==========
+
+        System.out.println("\n\n--- 2. Count-Min Sketch: Frequency of a Word ---\n");
+
+        CountMinSketch sketch = approximate.frequencies();
+        for (String word : new String[] {"w1", "w10", "w1000", "w99999"}) {
+            System.out.printf("%-8s exact %7d   estimate %7d%n", word, exact.get(word), sketch.estimate(word));
+        }
+        System.out.println("Error bound: +" + (long) Math.ceil(sketch.epsilon() * sketch.total())
+            + " (epsilon * total), sketch size " + sketch.memoryBytes() / 1024 + " KB");
+
+
+        // ========== HEAVY HITTERS ==========
+
+        System.out.println("\n\n--- 3. Space-Saving: Most Frequent Words ---\n");
+
+        List<Map.Entry<String, Integer>> exactTop = TopK.top(exact.asMap().entrySet(), 5, Map.Entry.comparingByValue());
+        System.out.println("Exact top 5:     " + exactTop);
+        System.out.println("Estimated top 5: " + approximate.heavyHitters().top(5));
+
+
+        System.out.println("\n\nTotal approximate memory: " + approximate.memoryBytes() / 1024
+            + " KB, independent of the number of distinct words");
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== HASHING ==========
+
+    /**
+     * 64-bit hash of source[start, end): FNV-1a over the chars, then the
+     * MurmurHash3 finalizer so every output bit depends on every input bit.
+     * String.hashCode() has only 32 bits, too few to derive several
+     * independent hash functions from.
+     */
+    static long hash64(CharSequence source, int start, int end) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = start; i < end; i++) {
+            h = (h ^ source.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static long hash64(CharSequence key) {
+        return hash64(key, 0, key.length());
+    }
+
+    // ========== COUNT-MIN SKETCH ==========
+
+    /**
+     * depth rows of width counters. Each word increments one counter per row;
+     * its estimate is the smallest of those counters. Collisions only ever
+     * add, so the estimate is never below the true count.
+     */
+    static final class CountMinSketch {
+        private final int width;
+        private final int depth;
+        private final long[] table;
+        private long total;
+
+        CountMinSketch(int width, int depth) {
+            if (width < 1 || depth < 1) {
+                throw new IllegalArgumentException("Width and depth must be positive: " + width + " x " + depth);
+            }
+            this.width = width;
+            this.depth = depth;
+            this.table = new long[Math.multiplyExact(width, depth)];
+        }
+
+        // Overestimates by at most epsilon * total with probability 1 - delta
+        static CountMinSketch withError(double epsilon, double delta) {
+            if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+                throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+            }
+            int width = (int) Math.ceil(Math.E / epsilon);
+            int depth = (int) Math.ceil(Math.log(1 / delta));
+            return new CountMinSketch(width, depth);
+        }
+
+        void add(CharSequence key) {
+            add(hash64(key), 1);
+        }
+
+        // Adds count occurrences of the key with the given hash64()
+        void add(long hash, long count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Counts can only grow: " + count);
+            }
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int row = 0; row < depth; row++) {
+                table[row * width + column(h1, h2, row)] += count;
+            }
+            total += count;
+        }
+
+        long estimate(CharSequence key) {
+            return estimate(hash64(key));
+        }
+
+        long estimate(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, table[row * width + column(h1, h2, row)]);
+            }
+            return min;
+        }
+
+        // Row i uses hash h1 + i * h2 (Kirsch-Mitzenmacher double hashing)
+        private int column(int h1, int h2, int row) {
+            return ((h1 + row * h2) & Integer.MAX_VALUE) % width;
+        }
+
+        // Adds another sketch of the same shape, e.g. one built by another thread
+        void merge(CountMinSketch other) {
+            if (other.width != width || other.depth != depth) {
+                throw new IllegalArgumentException("Sketch shapes differ");
+            }
+            for (int i = 0; i < table.length; i++) {
+                table[i] += other.table[i];
+            }
+            total += other.total;
+        }
+
+        long total() {
+            return total;
+        }
+
+        double epsilon() {
+            return Math.E / width;
+        }
+
+        long memoryBytes() {
+            return (long) table.length * Long.BYTES;
+        }
+    }
+
+    // ========== SPACE-SAVING ==========
+
+    /**
+     * Tracks at most capacity words. A new word, when all slots are taken,
+     * evicts the word with the smallest count and inherits that count + 1;
+     * the inherited part is remembered as the word's possible error.
+     * The slots form a min-heap on count, so finding and updating the
+     * minimum is O(log capacity). Slots are also found through an
+     * open-addressing table keyed by the word's hash64(), so a word given as a
+     * range of a larger text is looked up without creating a String for it.
+     */
+    static final class SpaceSaving {
+        private final Slot[] table;
+        private final Slot[] heap;
+        private int size;
+        private long total;
+
+        private static final class Slot {
+            String key;
+            long hash;
+            long count;
+            long error;
+            int position;
+        }
+
+        SpaceSaving(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            // At most half full, so probe sequences stay short
+            this.table = new Slot[Integer.highestOneBit(capacity) << 2];
+            this.heap = new Slot[capacity];
+        }
+
+        void add(String key) {
+            add(hash64(key), key, 0, key.length());
+        }
+
+        /**
+         * Counts the characters text[start, end), whose hash64() is hash. A String
+         * is created only when the word takes over a slot, never for a tracked word.
+         */
+        void add(long hash, CharSequence text, int start, int end) {
+            total++;
+            Slot slot = find(hash, text, start, end);
+            if (slot != null) {
+                slot.count++;
+                siftDown(slot.position);
+                return;
+            }
+            if (size < heap.length) {
+                slot = new Slot();
+                slot.count = 1;
+                slot.position = size;
+                heap[size++] = slot;
+                assign(slot, hash, text, start, end);
+                siftUp(slot.position);
+                return;
+            }
+            // Replace the least frequent word; the new one may have been evicted before
+            slot = heap[0];
+            remove(slot);
+            slot.error = slot.count;
+            slot.count++;
+            assign(slot, hash, text, start, end);
+            siftDown(0);
+        }
+
+        // Upper bound on the count of key (0 only if nothing was ever evicted)
+        long estimate(String key) {
+            Slot slot = find(hash64(key), key, 0, key.length());
+            if (slot != null) {
+                return slot.count;
+            }
+            return size < heap.length ? 0 : heap[0].count;
+        }
+
+        // Lower bound: key appeared at least this many times
+        long guaranteed(String key) {
+            Slot slot = find(hash64(key), key, 0, key.length());
+            return slot == null ? 0 : slot.count - slot.error;
+        }
+
+        // The n words with the highest estimated counts, highest first
+        List<Map.Entry<String, Long>> top(int n) {
+            Slot[] slots = Arrays.copyOf(heap, size);
+            Arrays.sort(slots, (a, b) -> Long.compare(b.count, a.count));
+            List<Map.Entry<String, Long>> result = new ArrayList<>();
+            for (int i = 0; i < Math.min(n, slots.length); i++) {
+                result.add(Map.entry(slots[i].key, slots[i].count));
+            }
+            return result;
+        }
+
+        long total() {
+            return total;
+        }
+
+        // Rough: slot objects plus heap and table references; the key Strings themselves are extra
+        long memoryBytes() {
+            return (long) heap.length * (40 + 8) + (long) table.length * 8;
+        }
+
+        private Slot find(long hash, CharSequence text, int start, int end) {
+            int mask = table.length - 1;
+            Slot slot;
+            for (int i = (int) hash & mask; (slot = table[i]) != null; i = (i + 1) & mask) {
+                if (slot.hash == hash && matches(slot.key, text, start, end)) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+        // The only place a key String is created
+        private void assign(Slot slot, long hash, CharSequence text, int start, int end) {
+            slot.key = text.subSequence(start, end).toString();
+            slot.hash = hash;
+            int mask = table.length - 1;
+            int i = (int) hash & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = slot;
+        }
+
+        // Linear-probing delete: pull later slots of the same run back into the hole
+        private void remove(Slot slot) {
+            int mask = table.length - 1;
+            int hole = (int) slot.hash & mask;
+            while (table[hole] != slot) {
+                hole = (hole + 1) & mask;
+            }
+            for (int i = (hole + 1) & mask; table[i] != null; i = (i + 1) & mask) {
+                int home = (int) table[i].hash & mask;
+                // Move it only if its home is not in the cyclic range (hole, i]
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    table[hole] = table[i];
+                    hole = i;
+                }
+            }
+            table[hole] = null;
+        }
+
+        private static boolean matches(String key, CharSequence text, int start, int end) {
+            int length = end - start;
+            if (key.length() != length) {
+                return false;
+            }
+            if (text instanceof String s) {
+                return key.regionMatches(0, s, start, length);
+            }
+            for (int i = 0; i < length; i++) {
+                if (key.charAt(i) != text.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void siftUp(int position) {
+            Slot slot = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (heap[parent].count <= slot.count) {
+                    break;
+                }
+                place(heap[parent], position);
+                position = parent;
+            }
+            place(slot, position);
+        }
+
+        private void siftDown(int position) {
+            Slot slot = heap[position];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                    child++;
+                }
+                if (slot.count <= heap[child].count) {
+                    break;
+                }
+                place(heap[child], position);
+                position = child;
+            }
+            place(slot, position);
+        }
+
+        private void place(Slot slot, int position) {
+            heap[position] = slot;
+            slot.position = position;
+        }
+    }
+
+    // ========== HYPERLOGLOG ==========
+
+    /**
+     * The top precision bits of a word's hash pick a register; the register
+     * keeps the longest run of leading zeros seen in the remaining bits.
+     * Seeing a run of r zeros suggests about 2^r distinct values, and
+     * averaging over many registers (harmonic mean) makes that estimate stable.
+     */
+    static final class HyperLogLog {
+        private final int precision;
+        private final byte[] registers;
+
+        HyperLogLog(int precision) {
+            if (precision < 4 || precision > 18) {
+                throw new IllegalArgumentException("Precision must be in [4, 18]: " + precision);
+            }
+            this.precision = precision;
+            this.registers = new byte[1 << precision];
+        }
+
+        // Smallest register count whose standard error is at most relativeError
+        static HyperLogLog withError(double relativeError) {
+            if (!(relativeError > 0 && relativeError < 1)) {
+                throw new IllegalArgumentException("Relative error must be in (0, 1): " + relativeError);
+            }
+            double registersNeeded = Math.pow(1.04 / relativeError, 2);
+            int precision = 64 - Long.numberOfLeadingZeros((long) Math.ceil(registersNeeded) - 1);
+            return new HyperLogLog(Math.max(4, Math.min(18, precision)));
+        }
+
+        void add(CharSequence key) {
+            add(hash64(key));
+        }
+
+        void add(long hash) {
+            int register = (int) (hash >>> (64 - precision));
+            // The guard bit caps the run length if the remaining bits are all zero
+            long remaining = (hash << precision) | (1L << (precision - 1));
+            byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+            if (rank > registers[register]) {
+                registers[register] = rank;
+            }
+        }
+
+        long estimate() {
+            int m = registers.length;
+            double harmonicSum = 0;
+            int zeros = 0;
+            for (byte register : registers) {
+                harmonicSum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            double alpha = alpha(m);
+            double estimate = alpha * m * m / harmonicSum;
+            if (estimate <= 2.5 * m && zeros > 0) {
+                // Small cardinalities: linear counting on the empty registers is more accurate
+                estimate = m * Math.log((double) m / zeros);
+            }
+            return Math.round(estimate);
+        }
+
+        // Bias correction from the HyperLogLog paper; the formula only holds from 128 registers
+        private static double alpha(int m) {
+            return switch (m) {
+                case 16 -> 0.673;
+                case 32 -> 0.697;
+                case 64 -> 0.709;
+                default -> 0.7213 / (1 + 1.079 / m);
+            };
+        }
+
+        // Union of two sets: register-wise maximum
+        void merge(HyperLogLog other) {
+            if (other.precision != precision) {
+                throw new IllegalArgumentException("Precisions differ");
+            }
+            for (int i = 0; i < registers.length; i++) {
+                registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+            }
+        }
+
+        double standardError() {
+            return 1.04 / Math.sqrt(registers.length);
+        }
+
+        long memoryBytes() {
+            return registers.length;
+        }
+    }
+
+    // ========== ALL THREE AT ONCE ==========
+
+    /**
+     * Fixed-memory replacement for HashMapDemo.countWords(): splits text on
+     * whitespace like WhitespaceTokenizer and hashes each word once for both
+     * the sketch and HyperLogLog. Words are used as they are; lower-case the
+     * text first for case-insensitive counts.
+     */
+    static final class ApproximateWordCounter {
+        private final CountMinSketch frequencies;
+        private final SpaceSaving heavyHitters;
+        private final HyperLogLog distinct;
+        private final WhitespaceTokenizer tokenizer = new WhitespaceTokenizer();
+
+        /**
+         * @param epsilon       frequency error as a fraction of all words
+         * @param delta         probability that a frequency exceeds that error
+         * @param topCapacity   words tracked for top-N (every word above 1/topCapacity of the input is kept)
+         * @param distinctError relative standard error of the distinct count
+         */
+        ApproximateWordCounter(double epsilon, double delta, int topCapacity, double distinctError) {
+            this.frequencies = CountMinSketch.withError(epsilon, delta);
+            this.heavyHitters = new SpaceSaving(topCapacity);
+            this.distinct = HyperLogLog.withError(distinctError);
+        }
+
+        void addText(CharSequence text) {
+            tokenizer.reset(text);
+            while (tokenizer.next()) {
+                long hash = hash64(text, tokenizer.start(), tokenizer.end());
+                frequencies.add(hash, 1);
+                distinct.add(hash);
+                heavyHitters.add(hash, text, tokenizer.start(), tokenizer.end());
+            }
+        }
+
+        CountMinSketch frequencies() {
+            return frequencies;
+        }
+
+        SpaceSaving heavyHitters() {
+            return heavyHitters;
+        }
+
+        HyperLogLog distinct() {
+            return distinct;
+        }
+
+        long memoryBytes() {
+            return frequencies.memoryBytes() + heavyHitters.memoryBytes() + distinct.memoryBytes();
+        }
+    }
+}
+
+/*
+ * APPROXIMATE COUNTERS QUICK REFERENCE:
+ *
+ * FREQUENCY OF ONE KEY (never too low):
+ * CountMinSketch cms = CountMinSketch.withError(0.001, 0.01);  // +0.1% of total, 99% sure
+ * cms.add("word"); cms.estimate("word");
+ *
+ * MOST FREQUENT KEYS:
+ * SpaceSaving top = new SpaceSaving(1000);
+ * top.add("word"); top.top(10); top.guaranteed("word");
+ * top.add(hash64(text, start, end), text, start, end);   // no String unless the word is new
+ *
+ * DISTINCT KEYS:
+ * HyperLogLog hll = HyperLogLog.withError(0.01);   // ~1% error, 16 KB
+ * hll.add("word"); hll.estimate();
+ *
+ * ALL THREE FROM TEXT:
+ * ApproximateWordCounter c = new ApproximateWordCounter(0.0001, 0.01, 100, 0.01);
+ * c.addText(text);
+ *
+ * MERGING (per-thread sketches):
+ * cms.merge(otherCms); hll.merge(otherHll);
+ *
+ * HOW TO RUN:
+ * javac ApproximateCounters.java
+ * java ApproximateCounters
+ */
@@ -440,29 +440,23 @@ public class ArrayListDemo {
     }
 
     // Helper method to remove duplicates
+    // O(n) with a pre-sized HashSet, keeps first occurrences in order
+    // (see ListDeduplication.java, which also has a parallel version)
     static <T> List<T> removeDuplicates(List<T> list) {
-        List<T> result = new ArrayList<>();
-        for (T item : list) {
-            if (!result.contains(item)) {
-                result.add(item);
-            }
-        }
-        return result;
+        return ListDeduplication.removeDuplicates(list);
     }
 
     // Helper method to find common elements
+    // Same result as retainAll(list2), but hashes or merges instead of
+    // calling list2.contains() per element (see ListIntersection.java)
     static <T> List<T> findCommon(List<T> list1, List<T> list2) {
-        List<T> common = new ArrayList<>(list1);
-        common.retainAll(list2);
-        return common;
+        return ListIntersection.intersect(list1, list2);
     }
 
     // Helper method to merge and sort
+    // Sorted inputs are merged in O(n + m) instead of re-sorted (see SortedMerge.java)
     static <T extends Comparable<T>> List<T> mergeAndSort(List<T> list1, List<T> list2) {
-        List<T> merged = new ArrayList<>(list1);
-        merged.addAll(list2);
-        Collections.sort(merged);
-        return merged;
+        return SortedMerge.mergeSorted(list1, list2);
     }
 }
 
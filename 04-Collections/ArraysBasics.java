@@ -294,67 +294,31 @@ public class ArraysBasics {
 
     // ========== HELPER METHODS ==========
 
+    // The search/count/sortedness/reverse loops below delegate to
+    // IntArrayKernels, which uses SIMD (Vector API) when the JVM has it
+    // and the original scalar loops otherwise
+
     // Reverse array in place
     static void reverseArray(int[] arr) {
-        int left = 0;
-        int right = arr.length - 1;
-        while (left < right) {
-            int temp = arr[left];
-            arr[left] = arr[right];
-            arr[right] = temp;
-            left++;
-            right--;
-        }
+        IntArrayKernels.get().reverse(arr);
     }
 
     // Find element in array (linear search)
     static int findElement(int[] arr, int value) {
-        for (int i = 0; i < arr.length; i++) {
-            if (arr[i] == value) {
-                return i;
-            }
-        }
-        return -1; // Not found
+        return IntArrayKernels.get().indexOf(arr, value);
     }
 
     // Count occurrences of a value
     static int countOccurrences(int[] arr, int value) {
-        int count = 0;
-        for (int num : arr) {
-            if (num == value) {
-                count++;
-            }
-        }
-        return count;
+        return IntArrayKernels.get().count(arr, value);
     }
 
     // Remove duplicates from array
+    // Sorts a copy and compacts it in one pass; large or dense inputs use
+    // radix sort or a bitmap (see IntDedup.java, which also has an
+    // in-place variant that returns the new length)
     static int[] removeDuplicates(int[] arr) {
-        if (arr.length == 0) return arr;
-
-        // Sort first
-        int[] sorted = arr.clone();
-        Arrays.sort(sorted);
-
-        // Count unique elements
-        int uniqueCount = 1;
-        for (int i = 1; i < sorted.length; i++) {
-            if (sorted[i] != sorted[i-1]) {
-                uniqueCount++;
-            }
-        }
-
-        // Create result array
-        int[] result = new int[uniqueCount];
-        result[0] = sorted[0];
-        int index = 1;
-        for (int i = 1; i < sorted.length; i++) {
-            if (sorted[i] != sorted[i-1]) {
-                result[index++] = sorted[i];
-            }
-        }
-
-        return result;
+        return IntDedup.removeDuplicates(arr);
     }
 
     // Merge two arrays
@@ -375,30 +339,12 @@ public class ArraysBasics {
         if (arr.length < 2) {
             throw new IllegalArgumentException("Array must have at least 2 elements");
         }
-
-        int largest = Integer.MIN_VALUE;
-        int secondLargest = Integer.MIN_VALUE;
-
-        for (int num : arr) {
-            if (num > largest) {
-                secondLargest = largest;
-                largest = num;
-            } else if (num > secondLargest && num != largest) {
-                secondLargest = num;
-            }
-        }
-
-        return secondLargest;
+        return IntArrayKernels.get().secondLargest(arr);
     }
 
     // Check if array is sorted
     static boolean isSorted(int[] arr) {
-        for (int i = 1; i < arr.length; i++) {
-            if (arr[i] < arr[i-1]) {
-                return false;
-            }
-        }
-        return true;
+        return IntArrayKernels.get().isSorted(arr);
     }
 }
 
@@ -0,0 +1,90 @@
+/**
+ * Bench.java
+ *
+ * A tiny timing harness shared by the *Benchmark programs in this module.
+ * It is not JMH: there is no forking and no dead-code protection beyond a
+ * result sink. It does the two things that matter most for rough numbers:
+ * it warms up the JIT before measuring, and it reports the median of
+ * several runs instead of a single System.currentTimeMillis() delta.
+ *
+ * Key Concepts:
+ * - JIT warmup before measurement
+ * - Median of repeated runs
+ * - Keeping results alive so the JIT cannot remove the work
+ */
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+public class Bench {
+
+    private static final int DEFAULT_WARMUPS = 3;
+    private static final int DEFAULT_RUNS = 5;
+
+    // Results are folded into this field so the measured work is never dead code
+    static volatile int sink;
+
+    public static void main(String[] args) {
+        System.out.println("========== BENCH HARNESS DEMONSTRATION ==========\n");
+
+        int[] data = new int[1_000_000];
+        Arrays.setAll(data, i -> i * 31);
+        measure("sum of 1M ints", () -> {
+            long sum = 0;
+            for (int value : data) {
+                sum += value;
+            }
+            return sum;
+        });
+
+        System.out.println("\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // Warms up, measures and prints the median time of task; returns the median in nanos
+    static long measure(String label, Supplier<?> task) {
+        return measure(label, DEFAULT_WARMUPS, DEFAULT_RUNS, task);
+    }
+
+    static long measure(String label, int warmups, int runs, Supplier<?> task) {
+        for (int i = 0; i < warmups; i++) {
+            consume(task.get());
+        }
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Object result = task.get();
+            times[i] = System.nanoTime() - start;
+            consume(result);
+        }
+        Arrays.sort(times);
+        long median = times[runs / 2];
+        System.out.printf("  %-40s %10.3f ms  (min %.3f, max %.3f)%n",
+            label, median / 1e6, times[0] / 1e6, times[runs - 1] / 1e6);
+        return median;
+    }
+
+    static void consume(Object result) {
+        sink += System.identityHashCode(result);
+    }
+
+    // Reads an optional int argument, e.g. a problem size passed on the command line
+    static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
+
+/*
+ * BENCH QUICK REFERENCE:
+ *
+ * Bench.measure("label", () -> work());             // 3 warmups, median of 5
+ * Bench.measure("label", 5, 10, () -> work());       // custom warmups/runs
+ *
+ * TIPS:
+ * - Return the result of the work from the lambda so it can't be optimized away
+ * - Run with a fixed heap (-Xms/-Xmx) to reduce GC noise
+ * - For publishable numbers use JMH; this harness is for quick comparisons
+ *
+ * HOW TO RUN:
+ * javac Bench.java
+ * java Bench
+ */
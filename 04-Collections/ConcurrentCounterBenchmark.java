@@ -0,0 +1,139 @@
+/**
+ * ConcurrentCounterBenchmark.java
+ *
+ * Compares two ways for several threads to count words:
+ * - one shared ConcurrentFrequencyCounter that every thread updates
+ * - a private counter per thread, merged with MapMerger at the end
+ * plus the hybrid: a private counter per thread, published to the shared
+ * counter with one addAll() per thread.
+ *
+ * The words follow a skewed (Zipf-like) distribution, so a few keys are
+ * very hot - the case where a shared counter suffers most.
+ *
+ * Usage: java ConcurrentCounterBenchmark [words] [threads]
+ *   words    number of words to count (default 5,000,000)
+ *   threads  worker threads (default: available cores)
+ *
+ * Uses the Bench harness (warmup + median), not JMH.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+public class ConcurrentCounterBenchmark {
+
+    private static final int VOCABULARY = 100_000;
+
+    public static void main(String[] args) {
+        int size = Bench.intArg(args, 0, 5_000_000);
+        int threads = Bench.intArg(args, 1, Runtime.getRuntime().availableProcessors());
+        String[] words = skewedWords(size, new Random(17));
+
+        System.out.println("========== CONCURRENT COUNTER BENCHMARK ==========\n");
+        System.out.println("Words: " + size + ", vocabulary: " + VOCABULARY + ", threads: " + threads + "\n");
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(threads)) {
+            Bench.measure("shared counter, increment()", () -> {
+                ConcurrentFrequencyCounter<String> shared = new ConcurrentFrequencyCounter<>(VOCABULARY);
+                runChunks(workers, words, threads, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        shared.increment(words[i]);
+                    }
+                    return null;
+                });
+                return shared;
+            });
+
+            Bench.measure("per-thread HashMap + MapMerger", () -> {
+                List<Map<String, Integer>> partials = runChunks(workers, words, threads, (from, to) -> {
+                    Map<String, Integer> local = new HashMap<>();
+                    for (int i = from; i < to; i++) {
+                        local.merge(words[i], 1, Integer::sum);
+                    }
+                    return local;
+                });
+                return MapMerger.merge(partials);
+            });
+
+            Bench.measure("per-thread StringCounter + MapMerger", () -> {
+                List<Map<String, Integer>> partials = runChunks(workers, words, threads, (from, to) -> {
+                    FrequencyCounters.StringCounter local = new FrequencyCounters.StringCounter();
+                    for (int i = from; i < to; i++) {
+                        local.increment(words[i]);
+                    }
+                    return local.asMap();
+                });
+                return MapMerger.merge(partials);
+            });
+
+            Bench.measure("per-thread StringCounter + addAll()", () -> {
+                ConcurrentFrequencyCounter<String> shared = new ConcurrentFrequencyCounter<>(VOCABULARY);
+                runChunks(workers, words, threads, (from, to) -> {
+                    FrequencyCounters.StringCounter local = new FrequencyCounters.StringCounter();
+                    for (int i = from; i < to; i++) {
+                        local.increment(words[i]);
+                    }
+                    shared.addAll(local.asMap());
+                    return null;
+                });
+                return shared;
+            });
+        }
+
+        System.out.println("\n========== END OF BENCHMARK ==========");
+    }
+
+    // Runs work on `chunks` equal slices of words and returns the results in slice order
+    private static <R> List<R> runChunks(ExecutorService workers, String[] words, int chunks,
+                                         BiFunction<Integer, Integer, R> work) {
+        List<Callable<R>> tasks = new ArrayList<>();
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) words.length * c / chunks);
+            int to = (int) ((long) words.length * (c + 1) / chunks);
+            tasks.add(() -> work.apply(from, to));
+        }
+        List<R> results = new ArrayList<>();
+        try {
+            for (Future<R> future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    // Word i of the vocabulary appears roughly in proportion to 1 / (i + 1)
+    private static String[] skewedWords(int size, Random random) {
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = "w" + i;
+        }
+        String[] words = new String[size];
+        double logRange = Math.log(VOCABULARY + 1);
+        for (int i = 0; i < size; i++) {
+            int rank = (int) Math.exp(random.nextDouble() * logRange) - 1;
+            words[i] = vocabulary[Math.min(rank, VOCABULARY - 1)];
+        }
+        return words;
+    }
+}
+
+/*
+ * HOW TO RUN:
+ * javac ConcurrentCounterBenchmark.java
+ * java -Xmx1g ConcurrentCounterBenchmark
+ * java -Xmx2g ConcurrentCounterBenchmark 20000000 8
+ */
@@ -0,0 +1,269 @@
+/**
+ * ConcurrentFrequencyCounter.java
+ *
+ * This program demonstrates a frequency counter that many threads can update
+ * at the same time. HashMapDemo.countWords() uses a single-threaded counter,
+ * so workers that read different parts of a file each need their own map
+ * and a merge at the end. This counter is shared instead.
+ *
+ * Each key maps to a LongAdder. A LongAdder is a counter that gives each
+ * contending thread its own cell and sums the cells on read, so threads
+ * incrementing the same hot key ("the", 'e') don't all fight over one
+ * memory location.
+ *
+ * Key Concepts:
+ * - ConcurrentHashMap<K, LongAdder> as a thread-safe multiset
+ * - get() before computeIfAbsent() on the hot path (no locking for known keys)
+ * - LongAdder vs AtomicLong under contention
+ * - Weakly consistent iteration: snapshots and top-N never block writers
+ * - A primitive fast path for chars (array slot instead of a map lookup)
+ *   and batched adds from a thread-local count
+ *
+ * Benchmark: ConcurrentCounterBenchmark.java
+ */
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentFrequencyCounter<K> {
+
+    private final ConcurrentHashMap<K, LongAdder> counts;
+
+    public static void main(String[] args) throws Exception {
+
+        System.out.println("========== CONCURRENT FREQUENCY COUNTER DEMONSTRATION ==========\n");
+
+        // ========== SHARED WORD COUNTER ==========
+
+        System.out.println("--- 1. Four Threads, One Counter ---\n");
+
+        String[] chunks = {
+            "java is great java is powerful",
+            "java is fun and java is fast",
+            "threads share one counter",
+            "the counter never blocks java"
+        };
+
+        ConcurrentFrequencyCounter<String> words = new ConcurrentFrequencyCounter<>();
+        Chars letters = new Chars();
+        try (ExecutorService workers = Executors.newFixedThreadPool(chunks.length)) {
+            for (String chunk : chunks) {
+                workers.submit(() -> {
+                    WhitespaceTokenizer tokens = new WhitespaceTokenizer(chunk);
+                    while (tokens.next()) {
+                        words.increment(tokens.token());
+                    }
+                    letters.addAll(chunk);
+                });
+            }
+        } // close() waits for every task
+
+        System.out.println("Distinct words: " + words.size());
+        System.out.println("count(\"java\"):  " + words.get("java"));
+        System.out.println("Top 3 words:    " + words.topN(3));
+        System.out.println("Top 3 letters:  " + letters.topN(3));
+
+
+        // ========== READING WHILE WRITING ==========
+
+        System.out.println("\n\n--- 2. Snapshots Don't Block Writers ---\n");
+
+        ConcurrentFrequencyCounter<Integer> live = new ConcurrentFrequencyCounter<>();
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 2_000_000; i++) {
+                live.increment(i % 100);
+            }
+        });
+        Map<Integer, Long> early = live.snapshot();
+        writer.join();
+        Map<Integer, Long> done = live.snapshot();
+        System.out.println("Total while writing:  " + early.values().stream().mapToLong(Long::longValue).sum());
+        System.out.println("Total after writing:  " + done.values().stream().mapToLong(Long::longValue).sum());
+        System.out.println("count(42) at the end: " + live.get(42));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    ConcurrentFrequencyCounter() {
+        this.counts = new ConcurrentHashMap<>();
+    }
+
+    ConcurrentFrequencyCounter(int expectedKeys) {
+        this.counts = new ConcurrentHashMap<>(expectedKeys);
+    }
+
+    // ========== UPDATES (any thread) ==========
+
+    void increment(K key) {
+        adder(key).increment();
+    }
+
+    void add(K key, long delta) {
+        adder(key).add(delta);
+    }
+
+    // Adds a thread-local count in one go: one map lookup per distinct key
+    void addAll(Map<? extends K, ? extends Number> localCounts) {
+        localCounts.forEach((key, count) -> add(key, count.longValue()));
+    }
+
+    private LongAdder adder(K key) {
+        // computeIfAbsent() can lock the bin even when the key is present,
+        // so try the lock-free get() first; it succeeds for every known key
+        LongAdder adder = counts.get(key);
+        if (adder == null) {
+            adder = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        return adder;
+    }
+
+    // ========== QUERIES (never block writers) ==========
+
+    // 0 for keys never counted
+    long get(K key) {
+        LongAdder adder = counts.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    int size() {
+        return counts.size();
+    }
+
+    /**
+     * Copies the current counts. While other threads keep counting, the copy
+     * is not a single point in time: each count is a value that key had at
+     * some moment during the call.
+     */
+    Map<K, Long> snapshot() {
+        Map<K, Long> copy = HashMap.newHashMap(counts.size());
+        counts.forEach((key, adder) -> copy.put(key, adder.sum()));
+        return copy;
+    }
+
+    // The n most frequent keys, most frequent first (same consistency as snapshot())
+    List<Map.Entry<K, Long>> topN(int n) {
+        // Each count is read once, as the heap sees it; only n entries are kept
+        Iterable<Map.Entry<K, Long>> current = () -> new Iterator<>() {
+            private final Iterator<Map.Entry<K, LongAdder>> entries = counts.entrySet().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Map.Entry<K, Long> next() {
+                Map.Entry<K, LongAdder> entry = entries.next();
+                return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum());
+            }
+        };
+        return TopK.top(current, n, Map.Entry.comparingByValue());
+    }
+
+    // ========== CHAR FAST PATH ==========
+
+    /**
+     * Shared char counter without hashing or boxing: the char indexes an
+     * array of LongAdders, created the first time each char is seen.
+     * One slot per possible char costs 64K references (256 KB with
+     * compressed oops), allocated once per counter.
+     */
+    static final class Chars {
+        private final AtomicReferenceArray<LongAdder> adders =
+            new AtomicReferenceArray<>(Character.MAX_VALUE + 1);
+
+        void increment(char c) {
+            adder(c).increment();
+        }
+
+        void add(char c, long delta) {
+            adder(c).add(delta);
+        }
+
+        /**
+         * Counts the letters and digits of text (like
+         * ReadingFiles.countCharacterFrequency()) in a private int[] first,
+         * then publishes one add() per distinct char. Workers touch the
+         * shared adders a few dozen times per chunk instead of once per char.
+         */
+        void addAll(CharSequence text) {
+            FrequencyCounters.CharCounter local = new FrequencyCounters.CharCounter();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    local.increment(c);
+                }
+            }
+            local.asMap().forEach((c, count) -> add(c, count));
+        }
+
+        private LongAdder adder(char c) {
+            LongAdder adder = adders.get(c);
+            if (adder == null) {
+                LongAdder fresh = new LongAdder();
+                adder = adders.compareAndExchange(c, null, fresh);
+                if (adder == null) {
+                    adder = fresh; // we won the race
+                }
+            }
+            return adder;
+        }
+
+        long get(char c) {
+            LongAdder adder = adders.get(c);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        Map<Character, Long> snapshot() {
+            Map<Character, Long> copy = new HashMap<>();
+            for (int c = 0; c < adders.length(); c++) {
+                LongAdder adder = adders.get(c);
+                if (adder != null) {
+                    copy.put((char) c, adder.sum());
+                }
+            }
+            return copy;
+        }
+
+        List<Map.Entry<Character, Long>> topN(int n) {
+            return TopK.top(snapshot().entrySet(), n, Map.Entry.comparingByValue());
+        }
+    }
+}
+
+/*
+ * CONCURRENT FREQUENCY COUNTER QUICK REFERENCE:
+ *
+ * SHARED BETWEEN THREADS:
+ * ConcurrentFrequencyCounter<String> words = new ConcurrentFrequencyCounter<>();
+ * words.increment(word);              // any thread
+ * words.add(word, 5);
+ * words.addAll(localHashMap);         // batch from a thread-local map
+ *
+ * READING (never blocks writers, not a point-in-time view):
+ * words.get(word);
+ * words.snapshot();                   // Map<K, Long> copy
+ * words.topN(10);                     // most frequent first
+ *
+ * CHARS:
+ * ConcurrentFrequencyCounter.Chars chars = new ConcurrentFrequencyCounter.Chars();
+ * chars.addAll(chunk);                // count locally, publish once per char
+ *
+ * THE HOT-PATH IDIOM:
+ * LongAdder a = map.get(key);
+ * if (a == null) a = map.computeIfAbsent(key, k -> new LongAdder());
+ * a.increment();
+ *
+ * HOW TO RUN:
+ * javac ConcurrentFrequencyCounter.java
+ * java ConcurrentFrequencyCounter
+ */
@@ -0,0 +1,71 @@
+/**
+ * DedupBenchmark.java
+ *
+ * Compares the original O(n²) removeDuplicates (result.contains() in a loop)
+ * with the hash-based and parallel versions in ListDeduplication.
+ *
+ * Usage: java DedupBenchmark [maxSize] [distinctRatioPercent]
+ *   maxSize               largest list size to test (default 1,000,000)
+ *   distinctRatioPercent  share of distinct values in the list (default 10)
+ *
+ * The quadratic version is skipped above 50,000 elements: at 1M elements it
+ * would need on the order of 10^10 comparisons.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class DedupBenchmark {
+
+    private static final int QUADRATIC_LIMIT = 50_000;
+
+    public static void main(String[] args) {
+        int maxSize = Bench.intArg(args, 0, 1_000_000);
+        int distinctPercent = Bench.intArg(args, 1, 10);
+
+        System.out.println("========== DEDUP BENCHMARK ==========\n");
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors()
+            + ", distinct values: " + distinctPercent + "%\n");
+
+        for (int size = 10_000; size <= maxSize; size *= 10) {
+            List<Integer> list = randomList(size, Math.max(1, size * distinctPercent / 100));
+            System.out.println("--- " + size + " elements ---");
+            if (size <= QUADRATIC_LIMIT) {
+                Bench.measure("contains() loop (original)", 1, 3, () -> quadratic(list));
+            }
+            Bench.measure("HashSet, pre-sized", () -> ListDeduplication.removeDuplicates(list));
+            Bench.measure("parallel chunks + merge", () -> ListDeduplication.removeDuplicatesParallel(list));
+            System.out.println();
+        }
+
+        System.out.println("========== END OF BENCHMARK ==========");
+    }
+
+    // The original ArrayListDemo implementation, kept here as the baseline
+    private static <T> List<T> quadratic(List<T> list) {
+        List<T> result = new ArrayList<>();
+        for (T item : list) {
+            if (!result.contains(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> randomList(int size, int distinct) {
+        Random random = new Random(42);
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(distinct));
+        }
+        return list;
+    }
+}
+
+/*
+ * HOW TO RUN:
+ * javac DedupBenchmark.java
+ * java -Xms2g -Xmx2g DedupBenchmark
+ * java DedupBenchmark 10000000 1     // 10M elements, 1% distinct
+ */
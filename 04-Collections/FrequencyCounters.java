@@ -0,0 +1,427 @@
+/**
+ * FrequencyCounters.java
+ *
+ * This program demonstrates primitive-specialized frequency counters.
+ * A Map<Character, Integer> boxes every key and every count, and the usual
+ * getOrDefault + put idiom hashes each key twice. These counters store
+ * primitive int counts and update them with a single probe.
+ *
+ * Key Concepts:
+ * - Dense array-backed char -> int counting (the char IS the index)
+ * - Open addressing with linear probing for String -> int counting
+ * - Single-probe increment() instead of getOrDefault() + put()
+ * - Lazy Map views so existing Map-based callers keep working
+ *
+ * Used by: HashMapDemo.countWords() and HashMapDemo.countCharacters()
+ */
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+public class FrequencyCounters {
+
+    public static void main(String[] args) {
+
+        System.out.println("========== FREQUENCY COUNTERS DEMONSTRATION ==========\n");
+
+        // ========== CHAR COUNTER ==========
+
+        System.out.println("--- 1. CharCounter (dense array) ---\n");
+
+        CharCounter chars = new CharCounter();
+        for (char c : "hello world".toCharArray()) {
+            if (c != ' ') {
+                chars.increment(c);
+            }
+        }
+        System.out.println("Count of 'l': " + chars.get('l'));
+        System.out.println("Distinct chars: " + chars.size());
+        System.out.println("As Map: " + chars.asMap());
+
+        // Non-Latin-1 characters grow the table on demand
+        chars.increment('λ');
+        System.out.println("After adding lambda: " + chars.asMap());
+
+
+        // ========== STRING COUNTER ==========
+
+        System.out.println("\n\n--- 2. StringCounter (open addressing) ---\n");
+
+        StringCounter words = new StringCounter();
+        for (String word : "java is great java is powerful java is fun".split(" ")) {
+            words.increment(word);
+        }
+        System.out.println("Count of 'java': " + words.get("java"));
+        System.out.println("Count of 'python': " + words.get("python"));
+        System.out.println("Distinct words: " + words.size());
+        System.out.println("As Map: " + words.asMap());
+
+        System.out.println("\nIterating without boxing:");
+        words.forEach((word, count) -> System.out.println("  " + word + " -> " + count));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== CHAR -> INT ==========
+
+    /**
+     * Counts chars in a plain int[] indexed by the char value.
+     * Starts with 256 slots (Latin-1) and grows to 65536 only when needed.
+     */
+    static final class CharCounter {
+        private int[] counts = new int[256];
+        private int distinct;
+
+        // Adds one to the count of c and returns the new count
+        int increment(char c) {
+            if (c >= counts.length) {
+                grow();
+            }
+            int updated = ++counts[c];
+            if (updated == 1) {
+                distinct++;
+            }
+            return updated;
+        }
+
+        int get(char c) {
+            return c < counts.length ? counts[c] : 0;
+        }
+
+        // Number of distinct chars seen
+        int size() {
+            return distinct;
+        }
+
+        private void grow() {
+            int[] larger = new int[Character.MAX_VALUE + 1];
+            System.arraycopy(counts, 0, larger, 0, counts.length);
+            counts = larger;
+        }
+
+        // Read-through Map view; nothing is copied or boxed until accessed
+        Map<Character, Integer> asMap() {
+            return new AbstractMap<>() {
+                @Override
+                public Integer get(Object key) {
+                    if (key instanceof Character c) {
+                        int count = CharCounter.this.get(c);
+                        return count == 0 ? null : count;
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean containsKey(Object key) {
+                    return get(key) != null;
+                }
+
+                @Override
+                public int size() {
+                    return distinct;
+                }
+
+                @Override
+                public Set<Entry<Character, Integer>> entrySet() {
+                    return new AbstractSet<>() {
+                        @Override
+                        public int size() {
+                            return distinct;
+                        }
+
+                        @Override
+                        public Iterator<Entry<Character, Integer>> iterator() {
+                            return new Iterator<>() {
+                                private int next = advance(0);
+
+                                private int advance(int from) {
+                                    while (from < counts.length && counts[from] == 0) {
+                                        from++;
+                                    }
+                                    return from;
+                                }
+
+                                @Override
+                                public boolean hasNext() {
+                                    return next < counts.length;
+                                }
+
+                                @Override
+                                public Entry<Character, Integer> next() {
+                                    if (!hasNext()) {
+                                        throw new NoSuchElementException();
+                                    }
+                                    int index = next;
+                                    next = advance(index + 1);
+                                    return new SimpleImmutableEntry<>((char) index, counts[index]);
+                                }
+                            };
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    // ========== STRING -> INT ==========
+
+    /**
+     * Open-addressing String -> int counter with linear probing.
+     * Keys and counts live in parallel arrays; the table doubles at 2/3 full.
+     */
+    static final class StringCounter {
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private String[] keys;
+        private int[] counts;
+        private int size;
+        private int threshold;
+
+        StringCounter() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        StringCounter(int expectedSize) {
+            int capacity = tableSizeFor(Math.max(expectedSize, 2) * 3 / 2 + 1);
+            keys = new String[capacity];
+            counts = new int[capacity];
+            threshold = capacity * 2 / 3;
+        }
+
+        // Adds one to the count of key and returns the new count
+        int increment(String key) {
+            return add(key, 1);
+        }
+
+        // Adds delta to the count of key (inserting it if absent) and returns the new count
+        int add(String key, int delta) {
+            int mask = keys.length - 1;
+            int index = spread(key.hashCode()) & mask;
+            String existing;
+            while ((existing = keys[index]) != null) {
+                if (existing.equals(key)) {
+                    return counts[index] += delta;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            counts[index] = delta;
+            if (++size > threshold) {
+                resize();
+            }
+            return delta;
+        }
+
+        /**
+         * Counts the characters source[start, end) as a key without creating a String
+         * for it. The factory is called only when the key is not in the table yet.
+         */
+        int increment(CharSequence source, int start, int end, WhitespaceTokenizer.KeyFactory factory) {
+            int mask = keys.length - 1;
+            int index = spread(hashOf(source, start, end)) & mask;
+            String existing;
+            while ((existing = keys[index]) != null) {
+                if (matches(existing, source, start, end)) {
+                    return ++counts[index];
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = factory.create(source, start, end);
+            counts[index] = 1;
+            if (++size > threshold) {
+                resize();
+            }
+            return 1;
+        }
+
+        int get(String key) {
+            int slot = slotOf(key);
+            return slot < 0 ? 0 : counts[slot];
+        }
+
+        int size() {
+            return size;
+        }
+
+        // Visits every (key, count) pair without boxing the counts
+        void forEach(ObjIntConsumer<String> action) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    action.accept(keys[i], counts[i]);
+                }
+            }
+        }
+
+        private int slotOf(String key) {
+            int mask = keys.length - 1;
+            int index = spread(key.hashCode()) & mask;
+            String existing;
+            while ((existing = keys[index]) != null) {
+                if (existing.equals(key)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            int[] oldCounts = counts;
+            int capacity = oldKeys.length * 2;
+            int mask = capacity - 1;
+            keys = new String[capacity];
+            counts = new int[capacity];
+            threshold = capacity * 2 / 3;
+            for (int i = 0; i < oldKeys.length; i++) {
+                String key = oldKeys[i];
+                if (key != null) {
+                    int index = spread(key.hashCode()) & mask;
+                    while (keys[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = key;
+                    counts[index] = oldCounts[i];
+                }
+            }
+        }
+
+        // Same value as source.subSequence(start, end).toString().hashCode()
+        private static int hashOf(CharSequence source, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + source.charAt(i);
+            }
+            return h;
+        }
+
+        private static boolean matches(String key, CharSequence source, int start, int end) {
+            int length = end - start;
+            if (key.length() != length) {
+                return false;
+            }
+            if (source instanceof String s) {
+                return key.regionMatches(0, s, start, length);
+            }
+            for (int i = 0; i < length; i++) {
+                if (key.charAt(i) != source.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Mixes high bits into low bits so that similar hash codes don't cluster
+        private static int spread(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private static int tableSizeFor(int n) {
+            return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(n - 1) << 1);
+        }
+
+        // Read-through Map view; nothing is copied or boxed until accessed
+        Map<String, Integer> asMap() {
+            return new AbstractMap<>() {
+                @Override
+                public Integer get(Object key) {
+                    if (key instanceof String s) {
+                        int slot = slotOf(s);
+                        return slot < 0 ? null : counts[slot];
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean containsKey(Object key) {
+                    return key instanceof String s && slotOf(s) >= 0;
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Set<Entry<String, Integer>> entrySet() {
+                    return new AbstractSet<>() {
+                        @Override
+                        public int size() {
+                            return size;
+                        }
+
+                        @Override
+                        public Iterator<Entry<String, Integer>> iterator() {
+                            return new Iterator<>() {
+                                // Snapshot of the table so a resize() while iterating can't mix two tables
+                                private final String[] tableKeys = keys;
+                                private final int[] tableCounts = counts;
+                                private int next = advance(0);
+
+                                private int advance(int from) {
+                                    while (from < tableKeys.length && tableKeys[from] == null) {
+                                        from++;
+                                    }
+                                    return from;
+                                }
+
+                                @Override
+                                public boolean hasNext() {
+                                    return next < tableKeys.length;
+                                }
+
+                                @Override
+                                public Entry<String, Integer> next() {
+                                    if (!hasNext()) {
+                                        throw new NoSuchElementException();
+                                    }
+                                    int index = next;
+                                    next = advance(index + 1);
+                                    return new SimpleImmutableEntry<>(tableKeys[index], tableCounts[index]);
+                                }
+                            };
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
+
+/*
+ * FREQUENCY COUNTERS QUICK REFERENCE:
+ *
+ * CHAR COUNTING:
+ * CharCounter counter = new CharCounter();
+ * counter.increment('a');          // returns new count
+ * counter.get('a');                // 0 if never seen
+ * Map<Character, Integer> view = counter.asMap();
+ *
+ * STRING COUNTING:
+ * StringCounter counter = new StringCounter(expectedSize);
+ * counter.increment("word");       // single probe, returns new count
+ * counter.add("word", 5);          // add an arbitrary delta
+ * counter.increment(text, start, end, WhitespaceTokenizer.COPY);  // no substring per hit
+ * counter.forEach((word, count) -> ...);   // no boxing
+ * Map<String, Integer> view = counter.asMap();
+ *
+ * WHY NOT HashMap<String, Integer>?
+ * - map.put(k, map.getOrDefault(k, 0) + 1) hashes the key twice
+ * - Every count above 127 is a new Integer object
+ * - Every entry is a separate Node object (key, value, hash, next)
+ *
+ * TIME COMPLEXITY:
+ * CharCounter.increment()   - O(1), no hashing at all
+ * StringCounter.increment() - O(1) average, one probe sequence
+ *
+ * HOW TO RUN:
+ * javac FrequencyCounters.java
+ * java FrequencyCounters
+ */
@@ -0,0 +1,427 @@
+/**
+ * GradeBook.java
+ *
+ * This program demonstrates a Map that keeps its own statistics up to date.
+ * HashMapDemo.calculateAverage() and findHighestGrade() rescan every grade
+ * on every call. GradeBook does a small amount of extra work on each put(),
+ * remove() or merge() instead, so the questions become cheap:
+ *
+ *   average()           O(1)        running sum / size
+ *   highest(), lowest() O(log n)
+ *   countAbove(t)       O(log n)
+ *   kthHighest(k)       O(log n)
+ *   top(n)              O(log n + n)
+ *
+ * The grades are kept in an order-statistics tree as well as a HashMap.
+ * The tree is a treap (a binary search tree balanced by random priorities)
+ * in which every node also stores the size of its subtree. Subtree sizes let
+ * us count or select by position without visiting every node.
+ *
+ * Key Concepts:
+ * - Extending AbstractMap: every write path (put, remove, merge, compute,
+ *   entry.setValue, iterator.remove) goes through code we control
+ * - Maintaining aggregates incrementally instead of recomputing them
+ * - Treaps: BST order on keys, heap order on random priorities
+ * - Size-augmented trees for rank and select queries
+ *
+ * Like HashMap, GradeBook is not thread-safe; guard it with a lock if it is
+ * updated and queried from different threads.
+ *
+ * Used by: HashMapDemo.calculateAverage(), findHighestGrade() and
+ *          findStudentsAboveThreshold() when they are given a GradeBook
+ */
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class GradeBook extends AbstractMap<String, Integer> {
+
+    private final Map<String, Integer> grades = new HashMap<>();
+    private long sum;
+    private Node root;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== GRADE BOOK DEMONSTRATION ==========\n");
+
+        // ========== A MAP THAT KNOWS ITS STATISTICS ==========
+
+        System.out.println("--- 1. Queries Without Rescanning ---\n");
+
+        GradeBook book = new GradeBook();
+        book.put("Alice", 85);
+        book.put("Bob", 92);
+        book.put("Charlie", 78);
+        book.put("Diana", 95);
+        book.put("Eve", 88);
+
+        System.out.println("Grade Book:     " + book);
+        System.out.println("Average:        " + book.average());
+        System.out.println("Highest:        " + book.highest());
+        System.out.println("Lowest:         " + book.lowest());
+        System.out.println("Above 85:       " + book.countAbove(85));
+        System.out.println("2nd highest:    " + book.kthHighest(2));
+        System.out.println("Top 3:          " + book.top(3));
+
+
+        // ========== UPDATES ==========
+
+        System.out.println("\n\n--- 2. Every Write Path Updates the Statistics ---\n");
+
+        book.merge("Charlie", 20, Integer::sum);          // 78 -> 98
+        System.out.println("After merge(Charlie, +20): highest = " + book.highest());
+
+        book.remove("Charlie");
+        System.out.println("After remove(Charlie):     highest = " + book.highest());
+
+        book.replaceAll((name, grade) -> grade - 5);     // entry.setValue()
+        System.out.println("After replaceAll(-5):      average = " + book.average());
+
+        book.entrySet().removeIf(entry -> entry.getValue() < 85);
+        System.out.println("After removeIf(< 85):      " + book + ", average = " + book.average());
+
+
+        // ========== CHECKED AGAINST A FULL SCAN ==========
+
+        System.out.println("\n\n--- 3. Randomized Check Against HashMapDemo ---\n");
+
+        Random random = new Random(11);
+        GradeBook large = new GradeBook();
+        Map<String, Integer> plain = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            String name = "student" + random.nextInt(20_000);
+            if (random.nextInt(4) == 0) {
+                large.remove(name);
+                plain.remove(name);
+            } else {
+                int grade = random.nextInt(101);
+                large.put(name, grade);
+                plain.put(name, grade);
+            }
+        }
+        GradeStats scan = GradeStats.of(plain, 90);
+        System.out.println("Size:            " + large.size() + " / " + plain.size());
+        System.out.println("Average matches: " + (large.average() == scan.mean()));
+        System.out.println("Max matches:     " + (large.highest().getValue() == scan.max()));
+        System.out.println("Above 90:        " + large.countAbove(90) + " / " + scan.countAbove(90));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== MAP OPERATIONS ==========
+
+    // Null names and null grades are rejected: the tree has to order them
+    @Override
+    public Integer put(String name, Integer grade) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(grade, "grade");
+        Integer old = grades.put(name, grade);
+        replaced(name, old, grade);
+        return old;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        Integer old = grades.remove(name);
+        if (old != null) {
+            replaced(name, old, null);
+        }
+        return old;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        return grades.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return grades.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return grades.size();
+    }
+
+    @Override
+    public void clear() {
+        grades.clear();
+        sum = 0;
+        root = null;
+    }
+
+    // merge(), compute() and putAll() are inherited from Map and call put()/remove()
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new EntryIterator(grades.entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                return grades.size();
+            }
+        };
+    }
+
+    // The one place where sum and tree follow a change to grades (null = absent)
+    private void replaced(String name, Integer oldGrade, Integer newGrade) {
+        if (oldGrade != null) {
+            sum -= oldGrade;
+            root = delete(root, oldGrade, name);
+        }
+        if (newGrade != null) {
+            sum += newGrade;
+            root = insert(root, new Node(newGrade, name));
+        }
+    }
+
+    // Routes entry.setValue() and iterator.remove() through replaced()
+    private final class EntryIterator implements Iterator<Entry<String, Integer>> {
+        private final Iterator<Entry<String, Integer>> entries;
+        private Entry<String, Integer> last;
+
+        EntryIterator(Iterator<Entry<String, Integer>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Entry<String, Integer> next() {
+            Entry<String, Integer> entry = entries.next();
+            last = entry;
+            return new SimpleEntry<>(entry) {
+                @Override
+                public Integer setValue(Integer grade) {
+                    Objects.requireNonNull(grade, "grade");
+                    super.setValue(grade);
+                    Integer old = entry.setValue(grade);
+                    replaced(entry.getKey(), old, grade);
+                    return old;
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            entries.remove();
+            replaced(last.getKey(), last.getValue(), null);
+            last = null;
+        }
+    }
+
+    // ========== STATISTICS ==========
+
+    long sum() {
+        return sum;
+    }
+
+    // 0.0 when empty, like HashMapDemo.calculateAverage()
+    double average() {
+        return grades.isEmpty() ? 0.0 : (double) sum / grades.size();
+    }
+
+    // Highest grade (ties: alphabetically first name), or null when empty
+    Entry<String, Integer> highest() {
+        return kthHighest(1);
+    }
+
+    // Lowest grade (ties: alphabetically last name), or null when empty
+    Entry<String, Integer> lowest() {
+        return kthHighest(grades.size());
+    }
+
+    // Number of grades strictly greater than threshold
+    int countAbove(int threshold) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.grade > threshold) {
+                count += 1 + size(node.right);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    // The k-th best entry, k = 1 for the highest; null if k is out of range
+    Entry<String, Integer> kthHighest(int k) {
+        if (k < 1 || k > grades.size()) {
+            return null;
+        }
+        Node node = root;
+        while (true) {
+            int better = size(node.right);
+            if (k <= better) {
+                node = node.right;
+            } else if (k == better + 1) {
+                return Map.entry(node.name, node.grade);
+            } else {
+                k -= better + 1;
+                node = node.left;
+            }
+        }
+    }
+
+    // The n best entries, highest first (fewer if the book is smaller)
+    List<Entry<String, Integer>> top(int n) {
+        List<Entry<String, Integer>> result = new ArrayList<>(Math.min(Math.max(n, 0), grades.size()));
+        // Reverse in-order walk, stopped after n nodes
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        while (result.size() < n && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.right;
+            }
+            node = path.pop();
+            result.add(Map.entry(node.name, node.grade));
+            node = node.left;
+        }
+        return result;
+    }
+
+    // ========== ORDER-STATISTICS TREAP ==========
+
+    /**
+     * Tree order is by grade, then by name in reverse, so that walking the
+     * tree from the right yields "highest grade first, ties alphabetical".
+     */
+    private static final class Node {
+        final int grade;
+        final String name;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(int grade, String name) {
+            this.grade = grade;
+            this.name = name;
+        }
+    }
+
+    private static int compare(int grade, String name, Node node) {
+        int byGrade = Integer.compare(grade, node.grade);
+        return byGrade != 0 ? byGrade : node.name.compareTo(name);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (compare(fresh.grade, fresh.name, node) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static Node delete(Node node, int grade, String name) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(grade, name, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, grade, name);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, grade, name);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            // Rotate the target down towards a leaf, keeping heap order
+            node = rotateRight(node);
+            node.right = delete(node.right, grade, name);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, grade, name);
+        }
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.size = 1 + size(node.left) + size(node.right);
+        pivot.size = 1 + size(pivot.left) + size(pivot.right);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.size = 1 + size(node.left) + size(node.right);
+        pivot.size = 1 + size(pivot.left) + size(pivot.right);
+        return pivot;
+    }
+}
+
+/*
+ * GRADE BOOK QUICK REFERENCE:
+ *
+ * UPDATES (any Map write keeps the statistics current):
+ * book.put(name, grade); book.remove(name);
+ * book.merge(name, bonus, Integer::sum);
+ * book.replaceAll((name, grade) -> grade + 5);
+ *
+ * QUERIES:
+ * book.average();          // O(1)
+ * book.sum();              // O(1)
+ * book.highest();          // O(log n) Map.Entry or null
+ * book.lowest();           // O(log n)
+ * book.countAbove(85);     // O(log n)
+ * book.kthHighest(3);      // O(log n), 1 = highest
+ * book.top(10);            // O(log n + 10), highest first
+ *
+ * TREAP INVARIANTS:
+ * BST order on (grade, name), heap order on random priority,
+ * node.size = 1 + size(left) + size(right)
+ *
+ * HOW TO RUN:
+ * javac GradeBook.java
+ * java GradeBook
+ */
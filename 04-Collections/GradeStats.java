@@ -0,0 +1,402 @@
+/**
+ * GradeStats.java
+ *
+ * This program demonstrates computing every grade-book statistic in a single
+ * pass. Calling calculateAverage(), findHighestGrade() and
+ * findStudentsAboveThreshold() one after another walks the map three times;
+ * GradeStats walks it once and then answers any number of questions from
+ * the collected numbers.
+ *
+ * Collected in one pass:
+ * - count, sum and mean
+ * - minimum and maximum, with the student who has them
+ * - how many grades are above each requested threshold
+ * - a histogram with fixed-width buckets (0-9, 10-19, ...), kept in an
+ *   array while the grades are close together and in a TreeMap when a few
+ *   outliers (0 and 1,000,000) would make that array huge
+ *
+ * Key Concepts:
+ * - A mutable accumulator with accept() and combine()
+ * - Stream.collect(supplier, accumulator, combiner) for parallel reduction
+ * - Counting many thresholds at once with binary search + suffix sums
+ * - Separating the (expensive) pass from the (cheap) queries
+ *
+ * Used by: HashMapDemo.calculateAverage(), findHighestGrade() and
+ *          findStudentsAboveThreshold()
+ */
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class GradeStats {
+
+    static final int DEFAULT_BUCKET_WIDTH = 10;
+
+    // The bucket array may span at most this many buckets per grade (plus DENSE_MIN_SPAN)
+    static final int DENSE_BUCKETS_PER_GRADE = 4;
+    static final int DENSE_MIN_SPAN = 64;
+
+    private final long count;
+    private final long sum;
+    private final int min;
+    private final String minKey;
+    private final int max;
+    private final String maxKey;
+    private final int[] thresholds;
+    private final long[] aboveCounts;
+    private final int bucketWidth;
+    private final int firstBucket;
+    private final long[] buckets;
+    private final SortedMap<Integer, Long> sparseBuckets;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== GRADE STATS DEMONSTRATION ==========\n");
+
+        // ========== ONE PASS, MANY QUERIES ==========
+
+        System.out.println("--- 1. One Pass, Many Queries ---\n");
+
+        Map<String, Integer> gradeBook = new HashMap<>();
+        gradeBook.put("Alice", 85);
+        gradeBook.put("Bob", 92);
+        gradeBook.put("Charlie", 78);
+        gradeBook.put("Diana", 95);
+        gradeBook.put("Eve", 88);
+
+        GradeStats stats = GradeStats.of(gradeBook, 80, 85, 90);
+        System.out.println("Grade Book: " + gradeBook);
+        System.out.println("Count:      " + stats.count());
+        System.out.println("Mean:       " + stats.mean());
+        System.out.println("Highest:    " + stats.maxKey() + " with " + stats.max());
+        System.out.println("Lowest:     " + stats.minKey() + " with " + stats.min());
+        for (int threshold : new int[] {80, 85, 90}) {
+            System.out.println("Above " + threshold + ":   " + stats.countAbove(threshold));
+        }
+
+
+        // ========== HISTOGRAM ==========
+
+        System.out.println("\n\n--- 2. Histogram ---\n");
+
+        for (Map.Entry<Integer, Long> bucket : stats.histogram().entrySet()) {
+            int from = bucket.getKey();
+            System.out.printf("%3d-%-3d %s%n", from, from + stats.bucketWidth() - 1,
+                "#".repeat(bucket.getValue().intValue()));
+        }
+
+
+        // ========== PARALLEL ==========
+
+        System.out.println("\n\n--- 3. Parallel Reduction ---\n");
+
+        Random random = new Random(7);
+        Map<String, Integer> large = new HashMap<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            large.put("student" + i, random.nextInt(101));
+        }
+        GradeStats sequential = GradeStats.of(large, 50, 90);
+        GradeStats parallel = GradeStats.ofParallel(large, 50, 90);
+        System.out.println("Sequential: " + sequential);
+        System.out.println("Parallel:   " + parallel);
+        System.out.println("Same histogram: " + sequential.histogram().equals(parallel.histogram()));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== COMPUTING ==========
+
+    // One sequential pass; countAbove() works for the given thresholds
+    static GradeStats of(Map<String, Integer> grades, int... thresholds) {
+        return compute(grades, DEFAULT_BUCKET_WIDTH, thresholds, false);
+    }
+
+    // Same result as of(), with the pass split across the common Fork/Join pool
+    static GradeStats ofParallel(Map<String, Integer> grades, int... thresholds) {
+        return compute(grades, DEFAULT_BUCKET_WIDTH, thresholds, true);
+    }
+
+    static GradeStats compute(Map<String, Integer> grades, int bucketWidth, int[] thresholds, boolean parallel) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive: " + bucketWidth);
+        }
+        int[] sortedThresholds = Arrays.stream(thresholds).sorted().distinct().toArray();
+        Accumulator result;
+        if (parallel) {
+            // collect() combines partial results in encounter order, so ties
+            // for min/max resolve exactly as in the sequential pass
+            result = grades.entrySet().parallelStream().collect(
+                () -> new Accumulator(bucketWidth, sortedThresholds),
+                Accumulator::accept,
+                Accumulator::combine);
+        } else {
+            result = new Accumulator(bucketWidth, sortedThresholds);
+            for (Map.Entry<String, Integer> entry : grades.entrySet()) {
+                result.accept(entry);
+            }
+        }
+        return new GradeStats(result);
+    }
+
+    private GradeStats(Accumulator acc) {
+        this.count = acc.count;
+        this.sum = acc.sum;
+        this.min = acc.min;
+        this.minKey = acc.minKey;
+        this.max = acc.max;
+        this.maxKey = acc.maxKey;
+        this.thresholds = acc.thresholds;
+        // hits[p] = grades above exactly p thresholds; thresholds[j] is passed
+        // by every grade counted in hits[j + 1 ..], so take suffix sums
+        this.aboveCounts = new long[thresholds.length];
+        long above = 0;
+        for (int j = thresholds.length - 1; j >= 0; j--) {
+            above += acc.hits[j + 1];
+            aboveCounts[j] = above;
+        }
+        this.bucketWidth = acc.bucketWidth;
+        this.firstBucket = acc.firstBucket;
+        this.buckets = acc.sparse == null ? Arrays.copyOf(acc.buckets, acc.usedBuckets) : null;
+        this.sparseBuckets = acc.sparse;
+    }
+
+    // ========== QUERIES ==========
+
+    long count() {
+        return count;
+    }
+
+    long sum() {
+        return sum;
+    }
+
+    // 0.0 for an empty grade book, like HashMapDemo.calculateAverage()
+    double mean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    // Integer.MAX_VALUE if there are no grades
+    int min() {
+        return min;
+    }
+
+    // First student in iteration order with the lowest grade, or null
+    String minKey() {
+        return minKey;
+    }
+
+    // Integer.MIN_VALUE if there are no grades
+    int max() {
+        return max;
+    }
+
+    // First student in iteration order with the highest grade, or null
+    String maxKey() {
+        return maxKey;
+    }
+
+    // Number of grades strictly greater than threshold; threshold must have been requested
+    long countAbove(int threshold) {
+        int index = Arrays.binarySearch(thresholds, threshold);
+        if (index < 0) {
+            throw new IllegalArgumentException("Threshold " + threshold + " was not requested; requested: "
+                + Arrays.toString(thresholds));
+        }
+        return aboveCounts[index];
+    }
+
+    int bucketWidth() {
+        return bucketWidth;
+    }
+
+    // Bucket start -> number of grades in [start, start + bucketWidth), for every non-empty bucket
+    SortedMap<Integer, Long> histogram() {
+        SortedMap<Integer, Long> histogram = new TreeMap<>();
+        if (sparseBuckets != null) {
+            for (Map.Entry<Integer, Long> bucket : sparseBuckets.entrySet()) {
+                histogram.put((int) ((long) bucket.getKey() * bucketWidth), bucket.getValue());
+            }
+            return histogram;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] != 0) {
+                histogram.put((int) ((long) (firstBucket + i) * bucketWidth), buckets[i]);
+            }
+        }
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + String.format("%.3f", mean())
+            + ", min=" + minKey + " (" + min + "), max=" + maxKey + " (" + max + ")"
+            + ", above " + Arrays.toString(thresholds) + "=" + Arrays.toString(aboveCounts);
+    }
+
+    // ========== ACCUMULATOR ==========
+
+    /**
+     * Mutable running totals for part of the map. Each parallel worker fills
+     * its own accumulator; combine() adds a later part to an earlier one.
+     */
+    private static final class Accumulator {
+        private final int bucketWidth;
+        private final int[] thresholds;
+
+        // hits[p] = number of grades greater than exactly the p smallest thresholds
+        private final long[] hits;
+
+        private long count;
+        private long sum;
+        private int min = Integer.MAX_VALUE;
+        private String minKey;
+        private int max = Integer.MIN_VALUE;
+        private String maxKey;
+
+        // buckets[i] counts bucket number firstBucket + i; grows in both directions
+        private long[] buckets = new long[0];
+        private int firstBucket;
+        private int usedBuckets;
+
+        // Bucket number -> count, replacing the array once its range gets too wide
+        private TreeMap<Integer, Long> sparse;
+
+        Accumulator(int bucketWidth, int[] sortedThresholds) {
+            this.bucketWidth = bucketWidth;
+            this.thresholds = sortedThresholds;
+            this.hits = new long[sortedThresholds.length + 1];
+        }
+
+        void accept(Map.Entry<String, Integer> entry) {
+            int grade = entry.getValue();
+            count++;
+            sum += grade;
+            if (grade < min) {
+                min = grade;
+                minKey = entry.getKey();
+            }
+            if (grade > max) {
+                max = grade;
+                maxKey = entry.getKey();
+            }
+            hits[thresholdsBelow(grade)]++;
+            addToBucket(Math.floorDiv(grade, bucketWidth), 1);
+        }
+
+        void combine(Accumulator other) {
+            count += other.count;
+            sum += other.sum;
+            // Strict comparisons: on a tie the earlier part (this) keeps its key
+            if (other.min < min) {
+                min = other.min;
+                minKey = other.minKey;
+            }
+            if (other.max > max) {
+                max = other.max;
+                maxKey = other.maxKey;
+            }
+            for (int p = 0; p < hits.length; p++) {
+                hits[p] += other.hits[p];
+            }
+            if (other.sparse != null) {
+                for (Map.Entry<Integer, Long> bucket : other.sparse.entrySet()) {
+                    addToBucket(bucket.getKey(), bucket.getValue());
+                }
+            } else {
+                for (int i = 0; i < other.usedBuckets; i++) {
+                    if (other.buckets[i] != 0) {
+                        addToBucket(other.firstBucket + i, other.buckets[i]);
+                    }
+                }
+            }
+        }
+
+        // How many thresholds are strictly below grade
+        private int thresholdsBelow(int grade) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (thresholds[middle] < grade) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void addToBucket(int bucket, long amount) {
+            if (sparse == null && usedBuckets > 0) {
+                long lastBucket = Math.max(bucket, (long) firstBucket + usedBuckets - 1);
+                long span = lastBucket - Math.min(bucket, firstBucket) + 1;
+                if (span > DENSE_MIN_SPAN + DENSE_BUCKETS_PER_GRADE * count) {
+                    toSparse();
+                }
+            }
+            if (sparse != null) {
+                sparse.merge(bucket, amount, Long::sum);
+                return;
+            }
+            if (usedBuckets == 0) {
+                buckets = new long[8];
+                firstBucket = bucket;
+                usedBuckets = 1;
+            } else if (bucket < firstBucket) {
+                int shift = firstBucket - bucket;
+                long[] target = usedBuckets + shift <= buckets.length
+                    ? buckets
+                    : new long[Math.max(buckets.length * 2, usedBuckets + shift)];
+                System.arraycopy(buckets, 0, target, shift, usedBuckets);
+                Arrays.fill(target, 0, Math.min(shift, usedBuckets), 0);
+                buckets = target;
+                firstBucket = bucket;
+                usedBuckets += shift;
+            } else if (bucket - firstBucket >= usedBuckets) {
+                usedBuckets = bucket - firstBucket + 1;
+                if (usedBuckets > buckets.length) {
+                    buckets = Arrays.copyOf(buckets, Math.max(buckets.length * 2, usedBuckets));
+                }
+            }
+            buckets[bucket - firstBucket] += amount;
+        }
+
+        private void toSparse() {
+            sparse = new TreeMap<>();
+            for (int i = 0; i < usedBuckets; i++) {
+                if (buckets[i] != 0) {
+                    sparse.put(firstBucket + i, buckets[i]);
+                }
+            }
+            buckets = null;
+            usedBuckets = 0;
+        }
+    }
+}
+
+/*
+ * GRADE STATS QUICK REFERENCE:
+ *
+ * ONE PASS:
+ * GradeStats stats = GradeStats.of(grades, 60, 90);    // thresholds to count
+ * GradeStats stats = GradeStats.ofParallel(grades);    // very large maps
+ * GradeStats.compute(grades, 5, thresholds, false);    // 5-point buckets
+ *
+ * QUERIES (no further passes over the map):
+ * stats.count(); stats.sum(); stats.mean();
+ * stats.max(); stats.maxKey(); stats.min(); stats.minKey();
+ * stats.countAbove(60);                                // grades > 60
+ * stats.histogram();                                   // bucket start -> count
+ *
+ * PARALLEL REDUCTION PATTERN:
+ * stream.parallel().collect(Accumulator::new, Accumulator::accept, Accumulator::combine)
+ *
+ * HOW TO RUN:
+ * javac GradeStats.java
+ * java GradeStats
+ */
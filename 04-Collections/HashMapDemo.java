@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 public class HashMapDemo {
 
@@ -317,6 +318,7 @@ public class HashMapDemo {
         System.out.println("Average grade: " + calculateAverage(gradeBook));
         System.out.println("Highest grade: " + findHighestGrade(gradeBook));
         System.out.println("Students above 85: " + findStudentsAboveThreshold(gradeBook, 85));
+        System.out.println("All of the above in one pass: " + GradeStats.of(gradeBook, 85));
 
         // Example 4: Group by first letter
         String[] namesList = {"Alice", "Bob", "Charlie", "Anna", "David", "Alex"};
@@ -357,58 +359,60 @@ public class HashMapDemo {
     }
 
     // Helper method: Count word frequency
+    // Uses a primitive String -> int counter (see FrequencyCounters.java):
+    // one probe per word and no Integer boxing. WhitespaceTokenizer replaces
+    // split("\\s+"), so a String is only created the first time a word is seen
     static Map<String, Integer> countWords(String text) {
-        Map<String, Integer> wordCount = new HashMap<>();
-        String[] words = text.toLowerCase().split("\\s+");
-        for (String word : words) {
-            wordCount.put(word, wordCount.getOrDefault(word, 0) + 1);
+        FrequencyCounters.StringCounter wordCount = new FrequencyCounters.StringCounter();
+        String lower = text.toLowerCase();
+        WhitespaceTokenizer words = new WhitespaceTokenizer(lower);
+        while (words.next()) {
+            wordCount.increment(lower, words.start(), words.end(), WhitespaceTokenizer.COPY);
         }
-        return wordCount;
+        return wordCount.asMap();
     }
 
     // Helper method: Count character frequency
+    // The char itself indexes an int[] - no hashing, no boxing
     static Map<Character, Integer> countCharacters(String str) {
-        Map<Character, Integer> charCount = new HashMap<>();
-        for (char c : str.toCharArray()) {
+        FrequencyCounters.CharCounter charCount = new FrequencyCounters.CharCounter();
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
             if (c != ' ') {
-                charCount.put(c, charCount.getOrDefault(c, 0) + 1);
+                charCount.increment(c);
             }
         }
-        return charCount;
+        return charCount.asMap();
     }
 
     // Helper method: Calculate average from grade book
+    // The grade helpers are queries on GradeStats (see GradeStats.java). When
+    // several statistics are needed, compute GradeStats once and reuse it.
+    // A GradeBook (see GradeBook.java) keeps these statistics up to date
+    // itself, so it is asked directly instead of being scanned
     static double calculateAverage(Map<String, Integer> grades) {
-        if (grades.isEmpty()) return 0.0;
-        int sum = 0;
-        for (int grade : grades.values()) {
-            sum += grade;
+        if (grades instanceof GradeBook book) {
+            return book.average();
         }
-        return (double) sum / grades.size();
+        return GradeStats.of(grades).mean();
     }
 
     // Helper method: Find highest grade
     static String findHighestGrade(Map<String, Integer> grades) {
-        String topStudent = null;
-        int maxGrade = Integer.MIN_VALUE;
-        for (Map.Entry<String, Integer> entry : grades.entrySet()) {
-            if (entry.getValue() > maxGrade) {
-                maxGrade = entry.getValue();
-                topStudent = entry.getKey();
-            }
+        if (grades instanceof GradeBook book && !book.isEmpty()) {
+            Map.Entry<String, Integer> highest = book.highest();
+            return highest.getKey() + " with " + highest.getValue();
         }
-        return topStudent + " with " + maxGrade;
+        GradeStats stats = GradeStats.of(grades);
+        return stats.maxKey() + " with " + stats.max();
     }
 
     // Helper method: Find students above threshold
     static int findStudentsAboveThreshold(Map<String, Integer> grades, int threshold) {
-        int count = 0;
-        for (int grade : grades.values()) {
-            if (grade > threshold) {
-                count++;
-            }
+        if (grades instanceof GradeBook book) {
+            return book.countAbove(threshold);
         }
-        return count;
+        return (int) GradeStats.of(grades, threshold).countAbove(threshold);
     }
 
     // Helper method: Group names by first letter
@@ -422,12 +426,10 @@ public class HashMapDemo {
     }
 
     // Helper method: Merge two maps (sum values for common keys)
+    // The two-map case of MapMerger.merge() (see MapMerger.java), which also
+    // merges whole lists of maps sequentially or in parallel
     static Map<String, Integer> mergeMaps(Map<String, Integer> map1, Map<String, Integer> map2) {
-        Map<String, Integer> result = new HashMap<>(map1);
-        for (Map.Entry<String, Integer> entry : map2.entrySet()) {
-            result.merge(entry.getKey(), entry.getValue(), Integer::sum);
-        }
-        return result;
+        return MapMerger.merge(List.of(map1, map2));
     }
 }
 
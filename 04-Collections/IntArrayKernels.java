@@ -0,0 +1,216 @@
+/**
+ * IntArrayKernels.java
+ *
+ * This program demonstrates choosing between a SIMD and a scalar
+ * implementation of the same int[] loops at runtime.
+ *
+ * The Vector API (jdk.incubator.vector) lets Java code process 4, 8 or 16
+ * ints per CPU instruction. It is still an incubator module, so it is only
+ * available when the JVM is started with --add-modules jdk.incubator.vector.
+ * This class always works: it loads VectorIntArrayKernels when the module is
+ * present and falls back to plain loops otherwise.
+ *
+ * Key Concepts:
+ * - One interface, two implementations (strategy pattern)
+ * - Runtime feature detection with ModuleLayer
+ * - Loading an optional class by name so this file compiles without the module
+ * - Scalar reference implementations of search, count, sortedness,
+ *   second-largest and reverse
+ *
+ * Used by: ArraysBasics.findElement(), countOccurrences(), isSorted(),
+ *          findSecondLargest() and reverseArray()
+ */
+
+import java.util.Arrays;
+
+public class IntArrayKernels {
+
+    // The int[] loops from ArraysBasics, as one swappable unit
+    interface Kernels {
+        // Index of the first element equal to value, or -1
+        int indexOf(int[] arr, int value);
+
+        int count(int[] arr, int value);
+
+        // True if arr is in non-decreasing order
+        boolean isSorted(int[] arr);
+
+        // Largest value strictly below the maximum, or Integer.MIN_VALUE if there is none
+        int secondLargest(int[] arr);
+
+        void reverse(int[] arr);
+
+        String name();
+    }
+
+    // Set -Dkernels.scalar=true to disable the Vector API even when it is available
+    private static final String FORCE_SCALAR_PROPERTY = "kernels.scalar";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_IMPLEMENTATION = "VectorIntArrayKernels";
+
+    private static final Kernels SCALAR = new Scalar();
+    private static final Kernels BEST = select();
+
+    public static void main(String[] args) {
+
+        System.out.println("========== INT ARRAY KERNELS DEMONSTRATION ==========\n");
+
+        System.out.println("--- 1. Runtime Selection ---\n");
+
+        System.out.println("Vector API module present: " + vectorModulePresent());
+        System.out.println("Selected implementation:   " + get().name());
+        if (!vectorModulePresent()) {
+            System.out.println("(run with --add-modules " + VECTOR_MODULE + " to enable SIMD)");
+        }
+
+
+        System.out.println("\n\n--- 2. Kernels ---\n");
+
+        int[] data = new int[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 10;
+        }
+        Kernels kernels = get();
+        System.out.println("indexOf(7):     " + kernels.indexOf(data, 7));
+        System.out.println("count(7):       " + kernels.count(data, 7));
+        System.out.println("isSorted:       " + kernels.isSorted(data));
+        System.out.println("secondLargest:  " + kernels.secondLargest(data));
+
+        int[] small = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+        kernels.reverse(small);
+        System.out.println("reverse 1..11:  " + Arrays.toString(small));
+
+
+        System.out.println("\n\n--- 3. Both Implementations Agree ---\n");
+
+        int[] check = new int[1000];
+        for (int i = 0; i < check.length; i++) {
+            check[i] = (i * 7919) % 1000;
+        }
+        System.out.println("indexOf:        " + (SCALAR.indexOf(check, 500) == kernels.indexOf(check, 500)));
+        System.out.println("count:          " + (SCALAR.count(check, 3) == kernels.count(check, 3)));
+        System.out.println("secondLargest:  " + (SCALAR.secondLargest(check) == kernels.secondLargest(check)));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // The fastest implementation available in this JVM
+    static Kernels get() {
+        return BEST;
+    }
+
+    static Kernels scalar() {
+        return SCALAR;
+    }
+
+    static boolean vectorModulePresent() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    private static Kernels select() {
+        if (Boolean.getBoolean(FORCE_SCALAR_PROPERTY) || !vectorModulePresent()) {
+            return SCALAR;
+        }
+        try {
+            return (Kernels) Class.forName(VECTOR_IMPLEMENTATION)
+                .getDeclaredConstructor()
+                .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Class not compiled, or compiled without the module: stay scalar
+            return SCALAR;
+        }
+    }
+
+    // ========== SCALAR IMPLEMENTATION ==========
+
+    static final class Scalar implements Kernels {
+
+        @Override
+        public int indexOf(int[] arr, int value) {
+            for (int i = 0; i < arr.length; i++) {
+                if (arr[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int count(int[] arr, int value) {
+            int count = 0;
+            for (int num : arr) {
+                if (num == value) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isSorted(int[] arr) {
+            for (int i = 1; i < arr.length; i++) {
+                if (arr[i] < arr[i - 1]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int secondLargest(int[] arr) {
+            int largest = Integer.MIN_VALUE;
+            int secondLargest = Integer.MIN_VALUE;
+            for (int num : arr) {
+                if (num > largest) {
+                    secondLargest = largest;
+                    largest = num;
+                } else if (num > secondLargest && num != largest) {
+                    secondLargest = num;
+                }
+            }
+            return secondLargest;
+        }
+
+        @Override
+        public void reverse(int[] arr) {
+            int left = 0;
+            int right = arr.length - 1;
+            while (left < right) {
+                int temp = arr[left];
+                arr[left] = arr[right];
+                arr[right] = temp;
+                left++;
+                right--;
+            }
+        }
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+    }
+}
+
+/*
+ * INT ARRAY KERNELS QUICK REFERENCE:
+ *
+ * USAGE:
+ * IntArrayKernels.Kernels k = IntArrayKernels.get();   // best available
+ * k.indexOf(arr, value);
+ * k.count(arr, value);
+ * k.isSorted(arr);
+ * k.secondLargest(arr);
+ * k.reverse(arr);
+ *
+ * FORCING SCALAR:
+ * java -Dkernels.scalar=true ...
+ *
+ * HOW TO RUN (scalar only):
+ * javac IntArrayKernels.java
+ * java IntArrayKernels
+ *
+ * HOW TO RUN (with SIMD):
+ * javac --add-modules jdk.incubator.vector IntArrayKernels.java VectorIntArrayKernels.java
+ * java --add-modules jdk.incubator.vector IntArrayKernels
+ */
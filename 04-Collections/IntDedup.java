@@ -0,0 +1,230 @@
+/**
+ * IntDedup.java
+ *
+ * This program demonstrates removing duplicates from an int[] without
+ * allocating a result array. The result is sorted and unique, written to the
+ * front of the caller's array; the method returns how many slots are used.
+ *
+ * Three ways to get the values into order, chosen from the data:
+ * - BITMAP:  values span a small range -> set one bit per value, read bits back
+ * - RADIX:   large arrays -> LSD radix sort, 4 passes of 8 bits each
+ * - COMPARE: small arrays -> Arrays.sort()
+ * After sorting, one pass compacts the unique values to the front.
+ *
+ * Key Concepts:
+ * - In-place compaction with a read index and a write index
+ * - Returning a length instead of a new array
+ * - Counting sort per byte (LSD radix sort), including negative numbers
+ * - Bitmaps (long[]) as compact sets for dense value ranges
+ *
+ * Used by: ArraysBasics.removeDuplicates()
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class IntDedup {
+
+    enum Strategy { BITMAP, RADIX, COMPARE }
+
+    // Arrays at least this long use radix sort instead of Arrays.sort()
+    static final int RADIX_THRESHOLD = 1 << 16;
+
+    // Bitmap is used when its size in bits is at most this many bits per element
+    // (32 bits per element = the bitmap is no larger than the array itself)
+    static final int BITMAP_BITS_PER_ELEMENT = 32;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== INT DEDUP DEMONSTRATION ==========\n");
+
+        // ========== IN-PLACE ==========
+
+        System.out.println("--- 1. In-Place Compaction ---\n");
+
+        int[] buffer = {5, -3, 5, 8, -3, 1, 8, 8, 0};
+        System.out.println("Buffer before: " + Arrays.toString(buffer));
+        int length = dedupInPlace(buffer);
+        System.out.println("New length:    " + length);
+        System.out.println("Buffer after:  " + Arrays.toString(buffer));
+        System.out.println("Unique prefix: " + Arrays.toString(Arrays.copyOf(buffer, length)));
+
+
+        // ========== STRATEGY SELECTION ==========
+
+        System.out.println("\n\n--- 2. Strategy Selection ---\n");
+
+        Random random = new Random(1);
+        int[] dense = random.ints(200_000, 1_000, 50_000).toArray();
+        int[] sparse = random.ints(200_000).toArray();
+        int[] small = {900, 2, 900, 40_000};
+        System.out.println("200K values in [1000, 50000): " + choose(dense, 0, dense.length));
+        System.out.println("200K random ints:             " + choose(sparse, 0, sparse.length));
+        System.out.println("4 values:                     " + choose(small, 0, small.length));
+
+        int[] expected = Arrays.stream(sparse).distinct().sorted().toArray();
+        int sparseLength = dedupInPlace(sparse);
+        System.out.println("\nRadix result matches distinct().sorted(): "
+            + Arrays.equals(expected, Arrays.copyOf(sparse, sparseLength)));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // Returns a new array with the sorted unique values; arr is not modified
+    static int[] removeDuplicates(int[] arr) {
+        int[] copy = arr.clone();
+        return Arrays.copyOf(copy, dedupInPlace(copy));
+    }
+
+    /**
+     * Sorts arr and moves its unique values to arr[0 .. length). Returns that
+     * length. The contents of arr[length ..] are unspecified afterwards.
+     */
+    static int dedupInPlace(int[] arr) {
+        return dedupInPlace(arr, arr.length);
+    }
+
+    // Same as dedupInPlace(int[]) but only looks at arr[0 .. length)
+    static int dedupInPlace(int[] arr, int length) {
+        if (length < 2) {
+            return length;
+        }
+        switch (choose(arr, 0, length)) {
+            case BITMAP -> {
+                // Bitmap output is already unique
+                return bitmapSortUnique(arr, length);
+            }
+            case RADIX -> radixSort(arr, length);
+            case COMPARE -> Arrays.sort(arr, 0, length);
+        }
+        return compactSorted(arr, length);
+    }
+
+    static Strategy choose(int[] arr, int from, int to) {
+        int length = to - from;
+        if (length < 2) {
+            return Strategy.COMPARE;
+        }
+        int min = arr[from];
+        int max = arr[from];
+        for (int i = from + 1; i < to; i++) {
+            int value = arr[i];
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+        }
+        long range = (long) max - min + 1;
+        if (range <= (long) length * BITMAP_BITS_PER_ELEMENT) {
+            return Strategy.BITMAP;
+        }
+        return length >= RADIX_THRESHOLD ? Strategy.RADIX : Strategy.COMPARE;
+    }
+
+    // ========== COMPACTION ==========
+
+    // One pass over sorted data: copy each value that differs from the last kept one
+    static int compactSorted(int[] arr, int length) {
+        int write = 1;
+        for (int read = 1; read < length; read++) {
+            if (arr[read] != arr[write - 1]) {
+                arr[write++] = arr[read];
+            }
+        }
+        return write;
+    }
+
+    // ========== BITMAP ==========
+
+    private static int bitmapSortUnique(int[] arr, int length) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, arr[i]);
+            max = Math.max(max, arr[i]);
+        }
+        long range = (long) max - min + 1;
+        long[] bits = new long[(int) ((range + 63) >>> 6)];
+        for (int i = 0; i < length; i++) {
+            long offset = (long) arr[i] - min;
+            bits[(int) (offset >>> 6)] |= 1L << offset;
+        }
+        // Walk the set bits in ascending order
+        int write = 0;
+        for (int word = 0; word < bits.length; word++) {
+            long w = bits[word];
+            while (w != 0) {
+                int bit = Long.numberOfTrailingZeros(w);
+                arr[write++] = (int) (min + ((long) word << 6) + bit);
+                w &= w - 1;
+            }
+        }
+        return write;
+    }
+
+    // ========== RADIX ==========
+
+    /**
+     * LSD radix sort of arr[0 .. length), 8 bits per pass. The top byte is
+     * read with the sign bit flipped so negative numbers sort first. Passes
+     * where every value has the same digit are skipped.
+     */
+    static void radixSort(int[] arr, int length) {
+        if (length < 2) {
+            return;
+        }
+        int[] scratch = new int[length];
+        int[] source = arr;
+        int[] target = scratch;
+        int[] counts = new int[256];
+        for (int shift = 0; shift < 32; shift += 8) {
+            int flip = shift == 24 ? 0x80 : 0;
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[((source[i] >>> shift) & 0xFF) ^ flip]++;
+            }
+            if (counts[((source[0] >>> shift) & 0xFF) ^ flip] == length) {
+                continue;
+            }
+            // Turn counts into starting offsets
+            int sum = 0;
+            for (int digit = 0; digit < 256; digit++) {
+                int count = counts[digit];
+                counts[digit] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < length; i++) {
+                int value = source[i];
+                target[counts[((value >>> shift) & 0xFF) ^ flip]++] = value;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != arr) {
+            System.arraycopy(source, 0, arr, 0, length);
+        }
+    }
+}
+
+/*
+ * INT DEDUP QUICK REFERENCE:
+ *
+ * IN PLACE (caller's buffer):
+ * int length = IntDedup.dedupInPlace(arr);
+ * // arr[0 .. length) is sorted and unique
+ *
+ * NEW ARRAY (original left untouched):
+ * int[] unique = IntDedup.removeDuplicates(arr);
+ *
+ * STRATEGIES:
+ * BITMAP  - max - min small compared to length     O(n + range / 64)
+ * RADIX   - length >= 65536                        O(4n), one n-sized scratch array
+ * COMPARE - everything else (Arrays.sort)          O(n log n)
+ *
+ * HOW TO RUN:
+ * javac IntDedup.java
+ * java IntDedup
+ */
@@ -0,0 +1,77 @@
+/**
+ * IntKernelsBenchmark.java
+ *
+ * Compares the scalar and Vector API implementations in IntArrayKernels at
+ * 1K, 1M and (optionally) 100M elements and prints throughput in
+ * millions of elements per second.
+ *
+ * Usage: java --add-modules jdk.incubator.vector IntKernelsBenchmark [maxSize]
+ *   maxSize  largest array to test (default 1,000,000; 100,000,000 needs ~-Xmx1g)
+ *
+ * Without the module only the scalar column is measured.
+ * Uses the Bench harness (warmup + median), not JMH.
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class IntKernelsBenchmark {
+
+    public static void main(String[] args) {
+        int maxSize = Bench.intArg(args, 0, 1_000_000);
+
+        IntArrayKernels.Kernels scalar = IntArrayKernels.scalar();
+        IntArrayKernels.Kernels best = IntArrayKernels.get();
+
+        System.out.println("========== INT KERNELS BENCHMARK ==========\n");
+        System.out.println("Best implementation: " + best.name() + "\n");
+
+        for (int size : new int[] {1_000, 1_000_000, 100_000_000}) {
+            if (size > maxSize) {
+                break;
+            }
+            int[] data = new Random(7).ints(size, 0, 1_000_000).toArray();
+            int[] sorted = data.clone();
+            Arrays.sort(sorted);
+            // Repeat small arrays so each measurement is long enough to time
+            int repeat = Math.max(1, 10_000_000 / size);
+
+            System.out.println("--- " + size + " elements ---");
+            for (IntArrayKernels.Kernels kernels : best == scalar
+                    ? new IntArrayKernels.Kernels[] {scalar}
+                    : new IntArrayKernels.Kernels[] {scalar, best}) {
+                String tag = " [" + kernels.name() + "]";
+                report("indexOf (miss)" + tag, size, repeat, () -> kernels.indexOf(data, -1));
+                report("count" + tag, size, repeat, () -> kernels.count(data, 42));
+                report("isSorted (sorted)" + tag, size, repeat, () -> kernels.isSorted(sorted));
+                report("secondLargest" + tag, size, repeat, () -> kernels.secondLargest(data));
+                report("reverse" + tag, size, repeat, () -> {
+                    kernels.reverse(data);
+                    return data[0];
+                });
+            }
+            System.out.println();
+        }
+
+        System.out.println("========== END OF BENCHMARK ==========");
+    }
+
+    private static void report(String label, int size, int repeat, Supplier<Object> kernel) {
+        long nanos = Bench.measure(label, () -> {
+            Object last = null;
+            for (int r = 0; r < repeat; r++) {
+                last = kernel.get();
+            }
+            return last;
+        });
+        double elementsPerSecond = (double) size * repeat / (nanos / 1e9);
+        System.out.printf("    -> %.1f M elements/s%n", elementsPerSecond / 1e6);
+    }
+}
+
+/*
+ * HOW TO RUN:
+ * javac --add-modules jdk.incubator.vector IntKernelsBenchmark.java VectorIntArrayKernels.java
+ * java --add-modules jdk.incubator.vector -Xmx1g IntKernelsBenchmark 100000000
+ */
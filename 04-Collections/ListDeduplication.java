@@ -0,0 +1,157 @@
+/**
+ * ListDeduplication.java
+ *
+ * This program demonstrates linear-time, order-preserving duplicate removal.
+ * Checking result.contains(item) for every item is O(n²): each contains()
+ * is a linear scan of the result. Remembering the items seen so far in a
+ * HashSet makes every check O(1) on average, so the whole pass is O(n).
+ *
+ * Key Concepts:
+ * - HashSet.add() returns false for an item already present
+ * - Pre-sizing a HashSet with HashSet.newHashSet(n) (Java 19+) to avoid rehashing
+ * - Keeping the first occurrence of each item in its original position
+ * - Fork/Join: deduplicate chunks in parallel, then merge the chunk results
+ *
+ * Used by: ArrayListDemo.removeDuplicates()
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ListDeduplication {
+
+    // Below this many elements a chunk is deduplicated sequentially
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== LIST DEDUPLICATION DEMONSTRATION ==========\n");
+
+        // ========== SEQUENTIAL ==========
+
+        System.out.println("--- 1. Linear-Time Deduplication ---\n");
+
+        List<Integer> numbers = Arrays.asList(5, 3, 5, 1, 3, 9, 1, 5, 7);
+        System.out.println("Original:           " + numbers);
+        System.out.println("Without duplicates: " + removeDuplicates(numbers));
+
+
+        // ========== PARALLEL ==========
+
+        System.out.println("\n\n--- 2. Parallel Deduplication ---\n");
+
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            words.add("w" + (i * 7 % 11));
+        }
+        System.out.println("Original:           " + words);
+        System.out.println("Sequential result:  " + removeDuplicates(words));
+        // A tiny threshold forces the list to be split so the merge path runs
+        System.out.println("Parallel result:    " + removeDuplicatesParallel(words, 4));
+
+        System.out.println("\nSee DedupBenchmark.java for a timing comparison.");
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // Keeps the first occurrence of every item, in order. O(n) on average.
+    static <T> List<T> removeDuplicates(List<T> list) {
+        Set<T> seen = HashSet.newHashSet(list.size());
+        List<T> result = new ArrayList<>();
+        for (T item : list) {
+            if (seen.add(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    static <T> List<T> removeDuplicatesParallel(List<T> list) {
+        return removeDuplicatesParallel(list, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Parallel, order-preserving variant for very large lists. The list is
+     * split in half recursively; each chunk of at most threshold elements is
+     * deduplicated on its own, and neighbouring results are merged left to right
+     * so that the first occurrence still wins. Works best when the list has
+     * many duplicates, because then the chunk results are much smaller than
+     * the chunks themselves.
+     */
+    static <T> List<T> removeDuplicatesParallel(List<T> list, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        if (list.size() <= threshold) {
+            return removeDuplicates(list);
+        }
+        // Sub-lists of an ArrayList are views, so splitting copies nothing
+        List<T> source = list instanceof RandomAccess ? list : new ArrayList<>(list);
+        LinkedHashSet<T> unique = ForkJoinPool.commonPool().invoke(new DedupTask<>(source, threshold));
+        return new ArrayList<>(unique);
+    }
+
+    private static final class DedupTask<T> extends RecursiveTask<LinkedHashSet<T>> {
+        private final List<T> chunk;
+        private final int threshold;
+
+        DedupTask(List<T> chunk, int threshold) {
+            this.chunk = chunk;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected LinkedHashSet<T> compute() {
+            if (chunk.size() <= threshold) {
+                LinkedHashSet<T> unique = LinkedHashSet.newLinkedHashSet(chunk.size());
+                unique.addAll(chunk);
+                return unique;
+            }
+            int middle = chunk.size() >>> 1;
+            DedupTask<T> left = new DedupTask<>(chunk.subList(0, middle), threshold);
+            DedupTask<T> right = new DedupTask<>(chunk.subList(middle, chunk.size()), threshold);
+            right.fork();
+            LinkedHashSet<T> merged = left.compute();
+            // Items already in the left half keep their earlier position
+            merged.addAll(right.join());
+            return merged;
+        }
+    }
+}
+
+/*
+ * LIST DEDUPLICATION QUICK REFERENCE:
+ *
+ * ORDER-PRESERVING, O(n):
+ * Set<T> seen = HashSet.newHashSet(list.size());
+ * for (T item : list) {
+ *     if (seen.add(item)) result.add(item);
+ * }
+ *
+ * ONE-LINER (also O(n), order-preserving):
+ * new ArrayList<>(new LinkedHashSet<>(list));
+ *
+ * AVOID:
+ * if (!result.contains(item)) result.add(item);   // O(n²)
+ *
+ * PARALLEL:
+ * removeDuplicatesParallel(list)             // default chunk size 65536
+ * removeDuplicatesParallel(list, threshold)  // tune for your hardware
+ *
+ * TIME COMPLEXITY:
+ * removeDuplicates()          - O(n) average
+ * removeDuplicatesParallel()  - O(n / cores) for the chunks, plus up to O(u)
+ *                               per merge level (u = number of unique items)
+ *
+ * HOW TO RUN:
+ * javac ListDeduplication.java
+ * java ListDeduplication
+ */
@@ -0,0 +1,310 @@
+/**
+ * ListIntersection.java
+ *
+ * This program demonstrates an intersection engine that picks an algorithm
+ * based on the inputs. list1.retainAll(list2) calls list2.contains() for
+ * every element of list1, which is O(n·m) for two ArrayLists.
+ *
+ * Key Concepts:
+ * - HASH_PROBE: build a HashSet from the smaller list, probe with the other. O(n + m)
+ * - SORT_MERGE: walk two sorted lists side by side. O(n + m), no extra memory
+ * - GALLOP:     exponential + binary search of the small list's items in the
+ *               large sorted list. O(small · log(large / small))
+ * - Strategy selection from sizes and sortedness
+ *
+ * Result semantics are the same as list1.retainAll(list2) on a copy of list1:
+ * the elements of list1 that also occur in list2, in list1's order, with
+ * list1's duplicates kept. The sorted strategies match on compare() == 0, so
+ * intersect(list1, list2) only picks them for types whose natural order agrees
+ * with equals() (BigDecimal does not: 1.0 and 1.00 compare equal).
+ *
+ * Used by: ArrayListDemo.findCommon()
+ */
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+public class ListIntersection {
+
+    enum Strategy { HASH_PROBE, SORT_MERGE, GALLOP }
+
+    // Galloping pays off once the larger list is this many times the smaller one
+    static final int GALLOP_RATIO = 32;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== LIST INTERSECTION DEMONSTRATION ==========\n");
+
+        // ========== UNSORTED INPUT -> HASH PROBE ==========
+
+        System.out.println("--- 1. Unsorted Lists (Hash Probe) ---\n");
+
+        List<String> list1 = Arrays.asList("D", "A", "C", "B", "C");
+        List<String> list2 = Arrays.asList("C", "F", "D", "E");
+        System.out.println("List 1: " + list1);
+        System.out.println("List 2: " + list2);
+        System.out.println("Strategy: " + choose(list1.size(), list2.size(), false));
+        System.out.println("Common:   " + intersect(list1, list2));
+
+
+        // ========== SORTED INPUT -> SORT MERGE ==========
+
+        System.out.println("\n\n--- 2. Sorted Lists of Similar Size (Sort-Merge) ---\n");
+
+        List<Integer> sorted1 = Arrays.asList(1, 3, 3, 5, 7, 9, 11);
+        List<Integer> sorted2 = Arrays.asList(2, 3, 4, 7, 8, 11, 12);
+        System.out.println("List 1: " + sorted1);
+        System.out.println("List 2: " + sorted2);
+        System.out.println("Strategy: " + choose(sorted1.size(), sorted2.size(), true));
+        System.out.println("Common:   " + intersect(sorted1, sorted2));
+
+
+        // ========== SKEWED SIZES -> GALLOP ==========
+
+        System.out.println("\n\n--- 3. Small vs Huge Sorted List (Galloping) ---\n");
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i += 3) {
+            ids.add(i);
+        }
+        List<Integer> wanted = Arrays.asList(30, 31, 999, 500_001, 999_999);
+        System.out.println("Looking up " + wanted + " in " + ids.size() + " sorted IDs");
+        System.out.println("Strategy: " + choose(wanted.size(), ids.size(), true));
+        System.out.println("Found:    " + intersect(wanted, ids));
+
+
+        // ========== ALL STRATEGIES AGREE ==========
+
+        System.out.println("\n\n--- 4. Forcing Each Strategy ---\n");
+
+        for (Strategy strategy : Strategy.values()) {
+            System.out.println(strategy + ": "
+                + intersect(sorted1, sorted2, Comparator.naturalOrder(), strategy));
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== STRATEGY SELECTION ==========
+
+    static Strategy choose(int size1, int size2, boolean bothSorted) {
+        if (!bothSorted) {
+            return Strategy.HASH_PROBE;
+        }
+        int small = Math.min(size1, size2);
+        int large = Math.max(size1, size2);
+        return (long) small * GALLOP_RATIO < large ? Strategy.GALLOP : Strategy.SORT_MERGE;
+    }
+
+    /**
+     * Intersects two lists of any element type. If the elements are of a type
+     * whose natural order is consistent with equals (String, boxed primitives,
+     * BigInteger, enums) and both lists are already in ascending order, a
+     * sorted strategy is used; otherwise the smaller list is hashed.
+     */
+    static <T> List<T> intersect(List<T> list1, List<T> list2) {
+        Comparator<? super T> order = naturalOrderOrNull(list1, list2);
+        return intersect(list1, list2, order);
+    }
+
+    /**
+     * Intersects two lists using the given order to detect (and exploit)
+     * sorted inputs. A null order means "never sorted": hash probing is used.
+     * With sorted inputs, elements match when order.compare() returns 0 (as in
+     * a TreeSet), which differs from retainAll() if order disagrees with equals.
+     */
+    static <T> List<T> intersect(List<T> list1, List<T> list2, Comparator<? super T> order) {
+        boolean bothSorted = order != null && isSorted(list1, order) && isSorted(list2, order);
+        return intersect(list1, list2, order, choose(list1.size(), list2.size(), bothSorted));
+    }
+
+    // Runs a specific strategy. SORT_MERGE and GALLOP require both lists sorted by order.
+    static <T> List<T> intersect(List<T> list1, List<T> list2,
+                                 Comparator<? super T> order, Strategy strategy) {
+        if (list1.isEmpty() || list2.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return switch (strategy) {
+            case HASH_PROBE -> hashProbe(list1, list2);
+            case SORT_MERGE -> sortMerge(randomAccess(list1), randomAccess(list2), order);
+            case GALLOP -> gallop(randomAccess(list1), randomAccess(list2), order);
+        };
+    }
+
+    // ========== HASH PROBE ==========
+
+    private static <T> List<T> hashProbe(List<T> list1, List<T> list2) {
+        Set<T> filter;
+        if (list2.size() <= list1.size()) {
+            // Hash list2 and keep list1's elements that hit
+            filter = new HashSet<>(list2);
+        } else {
+            // Hash list1 (the smaller side); probing with list2 finds which values match
+            Set<T> candidates = new HashSet<>(list1);
+            filter = HashSet.newHashSet(candidates.size());
+            for (T item : list2) {
+                if (candidates.contains(item)) {
+                    filter.add(item);
+                }
+            }
+        }
+        List<T> result = new ArrayList<>(Math.min(list1.size(), filter.size()));
+        for (T item : list1) {
+            if (filter.contains(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    // ========== SORT MERGE ==========
+
+    private static <T> List<T> sortMerge(List<T> list1, List<T> list2, Comparator<? super T> order) {
+        List<T> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < list1.size() && j < list2.size()) {
+            T a = list1.get(i);
+            int cmp = order.compare(a, list2.get(j));
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                // Don't advance j: later duplicates of a in list1 match the same element
+                result.add(a);
+                i++;
+            }
+        }
+        return result;
+    }
+
+    // ========== GALLOP ==========
+
+    private static <T> List<T> gallop(List<T> list1, List<T> list2, Comparator<? super T> order) {
+        List<T> result = new ArrayList<>();
+        if (list1.size() <= list2.size()) {
+            // Few list1 elements: look each one up in the big list2
+            int from = 0;
+            for (T a : list1) {
+                from = lowerBound(list2, a, from, order);
+                if (from == list2.size()) {
+                    break;
+                }
+                if (order.compare(list2.get(from), a) == 0) {
+                    result.add(a);
+                }
+            }
+        } else {
+            // Few list2 elements: copy the matching runs out of the big list1
+            int from = 0;
+            for (T b : list2) {
+                from = lowerBound(list1, b, from, order);
+                while (from < list1.size() && order.compare(list1.get(from), b) == 0) {
+                    result.add(list1.get(from++));
+                }
+                if (from == list1.size()) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // First index >= from whose element is >= key: gallop 1, 2, 4, 8... then binary search
+    private static <T> int lowerBound(List<T> list, T key, int from, Comparator<? super T> order) {
+        int size = list.size();
+        int low = from;
+        int step = 1;
+        int high = from;
+        while (high < size && order.compare(list.get(high), key) < 0) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, size);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (order.compare(list.get(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // ========== HELPERS ==========
+
+    static <T> boolean isSorted(List<T> list, Comparator<? super T> order) {
+        T previous = null;
+        boolean first = true;
+        for (T item : list) {
+            if (!first && order.compare(previous, item) > 0) {
+                return false;
+            }
+            previous = item;
+            first = false;
+        }
+        return true;
+    }
+
+    // Types whose compareTo() returns 0 exactly when equals() is true
+    private static final Set<Class<?>> CONSISTENT_WITH_EQUALS = Set.of(
+        String.class, Integer.class, Long.class, Short.class, Byte.class, Character.class,
+        Boolean.class, Double.class, Float.class, BigInteger.class);
+
+    // Natural order if every element of both lists is a non-null instance of one such type
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<? super T> naturalOrderOrNull(List<T> list1, List<T> list2) {
+        if (list1.isEmpty() || list2.isEmpty() || list1.get(0) == null) {
+            return null;
+        }
+        Class<?> type = list1.get(0).getClass();
+        if (!CONSISTENT_WITH_EQUALS.contains(type) && !type.isEnum()) {
+            return null;
+        }
+        for (List<T> list : List.of(list1, list2)) {
+            for (T item : list) {
+                if (item == null || item.getClass() != type) {
+                    return null;
+                }
+            }
+        }
+        return (Comparator) Comparator.naturalOrder();
+    }
+
+    private static <T> List<T> randomAccess(List<T> list) {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+}
+
+/*
+ * LIST INTERSECTION QUICK REFERENCE:
+ *
+ * AUTOMATIC:
+ * ListIntersection.intersect(list1, list2);              // natural order if consistent with equals
+ * ListIntersection.intersect(list1, list2, comparator);  // custom order, matches on compare() == 0
+ *
+ * FORCED STRATEGY:
+ * ListIntersection.intersect(a, b, order, Strategy.GALLOP);
+ *
+ * CHOOSING:
+ * unsorted                          -> HASH_PROBE  O(n + m)
+ * sorted, similar sizes             -> SORT_MERGE  O(n + m), O(1) extra memory
+ * sorted, one list 32x+ the other   -> GALLOP      O(small · log(large/small))
+ *
+ * AVOID:
+ * copy.retainAll(list2);    // O(n·m) when list2 is a List
+ *
+ * HOW TO RUN:
+ * javac ListIntersection.java
+ * java ListIntersection
+ */
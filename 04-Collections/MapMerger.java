@@ -0,0 +1,243 @@
+/**
+ * MapMerger.java
+ *
+ * This program demonstrates merging many count maps (word -> count) into one.
+ * HashMapDemo.mergeMaps() handles two maps; merging hundreds of per-thread
+ * maps that way means hundreds of copies and a target HashMap that keeps
+ * resizing. MapMerger merges a whole list at once, three ways:
+ *
+ * - merge():           one thread, one pre-sized target
+ * - mergeParallel():   tree reduction on Fork/Join - groups of maps are merged
+ *                      in parallel, then pairs of results, then pairs of those
+ * - mergeConcurrent(): every worker adds into one shared ConcurrentHashMap of
+ *                      LongAdders; no combining step, contention is striped
+ *
+ * Key Concepts:
+ * - Pre-sizing a HashMap (HashMap.newHashMap) to avoid rehashing
+ * - Merging the smaller map into the larger one
+ * - Tree reduction: O(log n) combining rounds instead of n sequential ones
+ * - ConcurrentHashMap.computeIfAbsent() + LongAdder for hot keys
+ *
+ * Used by: HashMapDemo.mergeMaps()
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MapMerger {
+
+    // Maps merged sequentially by one leaf task
+    static final int LEAF_MAPS = 4;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== MAP MERGER DEMONSTRATION ==========\n");
+
+        // ========== N-WAY MERGE ==========
+
+        System.out.println("--- 1. Merging a List of Maps ---\n");
+
+        List<Map<String, Integer>> shards = List.of(
+            Map.of("A", 1, "B", 2, "C", 3),
+            Map.of("B", 20, "C", 30, "D", 4),
+            Map.of("A", 100, "E", 5));
+        System.out.println("Shards:     " + shards);
+        System.out.println("merge():    " + merge(shards));
+
+
+        // ========== THREE STRATEGIES ==========
+
+        System.out.println("\n\n--- 2. Sequential, Tree Reduction and Concurrent Target ---\n");
+
+        // 200 per-thread word counts over a shared vocabulary
+        Random random = new Random(5);
+        List<Map<String, Integer>> wordCounts = new ArrayList<>();
+        for (int shard = 0; shard < 200; shard++) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < 5_000; i++) {
+                counts.merge("word" + random.nextInt(50_000), 1, Integer::sum);
+            }
+            wordCounts.add(counts);
+        }
+
+        Map<String, Integer> sequential = merge(wordCounts);
+        Map<String, Integer> tree = mergeParallel(wordCounts);
+        Map<String, Integer> concurrent = mergeConcurrent(wordCounts);
+        System.out.println("Distinct words:           " + sequential.size());
+        System.out.println("Tree reduction agrees:    " + sequential.equals(tree));
+        System.out.println("Concurrent target agrees: " + sequential.equals(concurrent));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== SEQUENTIAL ==========
+
+    // Sums the counts of every key over all maps; the inputs are not modified
+    static <K> Map<K, Integer> merge(List<? extends Map<K, Integer>> maps) {
+        return mergeRange(maps, 0, maps.size());
+    }
+
+    private static <K> Map<K, Integer> mergeRange(List<? extends Map<K, Integer>> maps, int from, int to) {
+        Map<K, Integer> target = HashMap.newHashMap(sizeHint(maps, from, to));
+        for (int i = from; i < to; i++) {
+            for (Map.Entry<K, Integer> entry : maps.get(i).entrySet()) {
+                target.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * The merged map has at least as many keys as the largest input and at
+     * most the sum of all sizes. Count maps from the same batch overlap a
+     * lot, so twice the largest is a better guess than the sum; a wrong
+     * guess costs one resize, not a wasted table the size of every input.
+     */
+    private static int sizeHint(List<? extends Map<?, Integer>> maps, int from, int to) {
+        long total = 0;
+        int largest = 0;
+        for (int i = from; i < to; i++) {
+            int size = maps.get(i).size();
+            total += size;
+            largest = Math.max(largest, size);
+        }
+        return (int) Math.min(total, 2L * largest);
+    }
+
+    // Adds every count of source into target
+    private static <K> void mergeInto(Map<K, Integer> target, Map<K, Integer> source) {
+        for (Map.Entry<K, Integer> entry : source.entrySet()) {
+            target.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+    }
+
+    // ========== TREE REDUCTION ==========
+
+    static <K> Map<K, Integer> mergeParallel(List<? extends Map<K, Integer>> maps) {
+        return mergeParallel(maps, ForkJoinPool.commonPool());
+    }
+
+    static <K> Map<K, Integer> mergeParallel(List<? extends Map<K, Integer>> maps, ForkJoinPool pool) {
+        return pool.invoke(new MergeTask<>(maps, 0, maps.size()));
+    }
+
+    // Merges maps[from, to): leaves merge a few maps, parents merge their two children
+    private static final class MergeTask<K> extends RecursiveTask<Map<K, Integer>> {
+        private final List<? extends Map<K, Integer>> maps;
+        private final int from;
+        private final int to;
+
+        MergeTask(List<? extends Map<K, Integer>> maps, int from, int to) {
+            this.maps = maps;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<K, Integer> compute() {
+            if (to - from <= LEAF_MAPS) {
+                return mergeRange(maps, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            MergeTask<K> right = new MergeTask<>(maps, middle, to);
+            right.fork();
+            Map<K, Integer> a = new MergeTask<>(maps, from, middle).compute();
+            Map<K, Integer> b = right.join();
+            // Both results are private to this task: reuse the larger one as the target
+            if (a.size() >= b.size()) {
+                mergeInto(a, b);
+                return a;
+            }
+            mergeInto(b, a);
+            return b;
+        }
+    }
+
+    // ========== CONCURRENT TARGET ==========
+
+    static <K> Map<K, Integer> mergeConcurrent(List<? extends Map<K, Integer>> maps) {
+        return mergeConcurrent(maps, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * All workers add into one ConcurrentHashMap. A LongAdder per key spreads
+     * updates to the same key (common words like "the") over several cells,
+     * so threads don't queue on one counter. The adders are read once at the
+     * end into a plain HashMap.
+     */
+    static <K> Map<K, Integer> mergeConcurrent(List<? extends Map<K, Integer>> maps, ForkJoinPool pool) {
+        int hint = sizeHint(maps, 0, maps.size());
+        ConcurrentHashMap<K, LongAdder> counters = new ConcurrentHashMap<>(hint);
+        pool.invoke(new AddTask<>(maps, 0, maps.size(), counters));
+
+        Map<K, Integer> result = HashMap.newHashMap(counters.size());
+        // intValue() wraps on overflow exactly like Integer::sum does in the other strategies
+        counters.forEach((key, adder) -> result.put(key, adder.intValue()));
+        return result;
+    }
+
+    private static final class AddTask<K> extends RecursiveAction {
+        private final List<? extends Map<K, Integer>> maps;
+        private final int from;
+        private final int to;
+        private final ConcurrentHashMap<K, LongAdder> counters;
+
+        AddTask(List<? extends Map<K, Integer>> maps, int from, int to, ConcurrentHashMap<K, LongAdder> counters) {
+            this.maps = maps;
+            this.from = from;
+            this.to = to;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_MAPS) {
+                for (int i = from; i < to; i++) {
+                    for (Map.Entry<K, Integer> entry : maps.get(i).entrySet()) {
+                        // get() first: computeIfAbsent() may lock the bin even when the key exists
+                        LongAdder adder = counters.get(entry.getKey());
+                        if (adder == null) {
+                            adder = counters.computeIfAbsent(entry.getKey(), key -> new LongAdder());
+                        }
+                        adder.add(entry.getValue());
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AddTask<>(maps, from, middle, counters),
+                      new AddTask<>(maps, middle, to, counters));
+        }
+    }
+}
+
+/*
+ * MAP MERGER QUICK REFERENCE:
+ *
+ * MERGING N COUNT MAPS (values summed per key):
+ * MapMerger.merge(maps);              // one thread, pre-sized HashMap
+ * MapMerger.mergeParallel(maps);      // Fork/Join tree reduction
+ * MapMerger.mergeConcurrent(maps);    // shared ConcurrentHashMap<K, LongAdder>
+ *
+ * WHICH ONE:
+ * few maps or small maps      -> merge()
+ * many maps, moderate overlap -> mergeParallel()
+ * many maps, a few hot keys   -> mergeConcurrent()
+ *
+ * TWO-MAP IDIOM (what HashMapDemo.mergeMaps() did before):
+ * Map<K, Integer> result = new HashMap<>(map1);
+ * map2.forEach((k, v) -> result.merge(k, v, Integer::sum));
+ *
+ * HOW TO RUN:
+ * javac MapMerger.java
+ * java MapMerger
+ */
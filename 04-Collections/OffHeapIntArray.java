@@ -0,0 +1,378 @@
+/**
+ * OffHeapIntArray.java
+ *
+ * This program demonstrates an int array that lives outside the Java heap.
+ * A Java int[] is indexed by int, so it holds at most about 2^31 elements,
+ * and every large array is something the garbage collector has to track.
+ * OffHeapIntArray stores its elements in native memory obtained from the
+ * Foreign Function & Memory API (final in Java 22) and is indexed by long.
+ *
+ * Key Concepts:
+ * - Arena: owns native memory and frees all of it on close()
+ * - MemorySegment: a bounds-checked view of native memory
+ * - ValueLayout.JAVA_INT with getAtIndex()/setAtIndex() for element access
+ * - MemorySegment.copy() for bulk transfers (heap <-> native, native <-> native)
+ * - long indexes for arrays with billions of elements
+ * - The ArraysBasics operations (reverse, search, count, dedup, merge,
+ *   isSorted) rewritten for long indexes
+ *
+ * Java Features Used: Java 22+ (Foreign Function & Memory API)
+ */
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+public class OffHeapIntArray implements AutoCloseable {
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+
+    // Ranges at or below this size are sorted with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    private final Arena arena;
+    private final boolean ownsArena;
+    private final MemorySegment segment;
+    private long length;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== OFF-HEAP INT ARRAY DEMONSTRATION ==========\n");
+
+        // ========== ALLOCATION ==========
+
+        System.out.println("--- 1. Allocating Native Memory ---\n");
+
+        try (OffHeapIntArray numbers = OffHeapIntArray.of(5, 3, 9, 3, 1, 9, 7)) {
+            System.out.println("Array:        " + numbers);
+            System.out.println("Length:       " + numbers.length());
+            System.out.println("Native bytes: " + numbers.segment.byteSize());
+
+
+            // ========== OPERATIONS ==========
+
+            System.out.println("\n\n--- 2. ArraysBasics Operations ---\n");
+
+            System.out.println("indexOf(9):  " + numbers.indexOf(9));
+            System.out.println("count(3):    " + numbers.count(3));
+            System.out.println("isSorted():  " + numbers.isSorted());
+
+            numbers.reverse();
+            System.out.println("reverse():   " + numbers);
+
+            long unique = numbers.dedup();
+            System.out.println("dedup():     " + numbers + " (" + unique + " unique)");
+            System.out.println("isSorted():  " + numbers.isSorted());
+
+            try (OffHeapIntArray more = OffHeapIntArray.of(100, 200);
+                 OffHeapIntArray merged = OffHeapIntArray.merge(numbers, more)) {
+                System.out.println("merge():     " + merged);
+            }
+        }
+
+
+        // ========== BEYOND int INDEXES ==========
+
+        System.out.println("\n\n--- 3. Long Indexes ---\n");
+
+        // Three billion ints (12 GB) would work the same way, given the memory
+        long size = 3_000_000L;
+        try (OffHeapIntArray big = new OffHeapIntArray(size)) {
+            for (long i = 0; i < size; i++) {
+                big.set(i, (int) (i % 1000));
+            }
+            System.out.println("Elements:       " + big.length());
+            System.out.println("count(999):     " + big.count(999));
+            System.out.println("last element:   " + big.get(size - 1));
+        }
+        System.out.println("Memory freed when the try block closed the arena");
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== CREATION ==========
+
+    // Allocates length zeroed ints in a new arena owned (and closed) by this array
+    OffHeapIntArray(long length) {
+        this(Arena.ofShared(), length, true);
+    }
+
+    // Allocates in the caller's arena; close() then does nothing, the arena frees the memory
+    OffHeapIntArray(Arena arena, long length) {
+        this(arena, length, false);
+    }
+
+    private OffHeapIntArray(Arena arena, long length, boolean ownsArena) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        this.arena = arena;
+        this.ownsArena = ownsArena;
+        this.segment = arena.allocate(Math.multiplyExact(length, INT.byteSize()), INT.byteAlignment());
+        this.length = length;
+    }
+
+    static OffHeapIntArray of(int... values) {
+        OffHeapIntArray array = new OffHeapIntArray(values.length);
+        MemorySegment.copy(values, 0, array.segment, INT, 0, values.length);
+        return array;
+    }
+
+    // ========== ELEMENT ACCESS ==========
+
+    int get(long index) {
+        return segment.getAtIndex(INT, checkIndex(index));
+    }
+
+    void set(long index, int value) {
+        segment.setAtIndex(INT, checkIndex(index), value);
+    }
+
+    // Logical length; dedup() can make it smaller than the allocated capacity
+    long length() {
+        return length;
+    }
+
+    // Copies [from, from + count) to a new heap array
+    int[] toArray(long from, int count) {
+        if (from < 0 || count < 0 || from + count > length) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + count) + ") of " + length);
+        }
+        int[] result = new int[count];
+        MemorySegment.copy(segment, INT, from * INT.byteSize(), result, 0, count);
+        return result;
+    }
+
+    private long checkIndex(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return index;
+    }
+
+    // ========== OPERATIONS ==========
+
+    void reverse() {
+        long left = 0;
+        long right = length - 1;
+        while (left < right) {
+            int temp = segment.getAtIndex(INT, left);
+            segment.setAtIndex(INT, left, segment.getAtIndex(INT, right));
+            segment.setAtIndex(INT, right, temp);
+            left++;
+            right--;
+        }
+    }
+
+    // Index of the first element equal to value, or -1
+    long indexOf(int value) {
+        for (long i = 0; i < length; i++) {
+            if (segment.getAtIndex(INT, i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long count(int value) {
+        long count = 0;
+        for (long i = 0; i < length; i++) {
+            if (segment.getAtIndex(INT, i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    boolean isSorted() {
+        for (long i = 1; i < length; i++) {
+            if (segment.getAtIndex(INT, i) < segment.getAtIndex(INT, i - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorts the elements in place and keeps only unique values at the front,
+     * like ArraysBasics.removeDuplicates(). The logical length shrinks to the
+     * number of unique values, which is returned. No extra memory is used.
+     */
+    long dedup() {
+        if (length < 2) {
+            return length;
+        }
+        sort();
+        long write = 1;
+        for (long read = 1; read < length; read++) {
+            int value = segment.getAtIndex(INT, read);
+            if (value != segment.getAtIndex(INT, write - 1)) {
+                segment.setAtIndex(INT, write++, value);
+            }
+        }
+        length = write;
+        return write;
+    }
+
+    // a followed by b, in a new array with its own arena
+    static OffHeapIntArray merge(OffHeapIntArray a, OffHeapIntArray b) {
+        OffHeapIntArray merged = new OffHeapIntArray(Math.addExact(a.length, b.length));
+        long aBytes = a.length * INT.byteSize();
+        MemorySegment.copy(a.segment, 0, merged.segment, 0, aBytes);
+        MemorySegment.copy(b.segment, 0, merged.segment, aBytes, b.length * INT.byteSize());
+        return merged;
+    }
+
+    // ========== IN-PLACE SORT ==========
+
+    /**
+     * Introsort: quicksort with median-of-three pivots, insertion sort for
+     * short ranges, and heapsort if recursion gets too deep. In place, so a
+     * 10-billion element column needs no second buffer.
+     */
+    void sort() {
+        int depthLimit = 2 * (64 - Long.numberOfLeadingZeros(Math.max(1, length)));
+        introsort(0, length - 1, depthLimit);
+    }
+
+    private void introsort(long low, long high, int depthLimit) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapsort(low, high);
+                return;
+            }
+            long pivotIndex = partition(low, high);
+            // Recurse into the smaller side, loop on the larger one: O(log n) stack
+            if (pivotIndex - low < high - pivotIndex) {
+                introsort(low, pivotIndex - 1, depthLimit);
+                low = pivotIndex + 1;
+            } else {
+                introsort(pivotIndex + 1, high, depthLimit);
+                high = pivotIndex - 1;
+            }
+        }
+        insertionSort(low, high);
+    }
+
+    private long partition(long low, long high) {
+        long middle = low + ((high - low) >>> 1);
+        // Median of three: order low, middle, high, then park the median at high as the pivot
+        if (at(middle) < at(low)) {
+            swap(middle, low);
+        }
+        if (at(high) < at(low)) {
+            swap(high, low);
+        }
+        if (at(high) < at(middle)) {
+            swap(high, middle);
+        }
+        swap(middle, high);
+        int pivot = at(high);
+        long store = low;
+        for (long i = low; i < high; i++) {
+            if (at(i) < pivot) {
+                swap(i, store++);
+            }
+        }
+        swap(store, high);
+        return store;
+    }
+
+    private void insertionSort(long low, long high) {
+        for (long i = low + 1; i <= high; i++) {
+            int value = at(i);
+            long j = i - 1;
+            while (j >= low && at(j) > value) {
+                segment.setAtIndex(INT, j + 1, at(j));
+                j--;
+            }
+            segment.setAtIndex(INT, j + 1, value);
+        }
+    }
+
+    private void heapsort(long low, long high) {
+        long n = high - low + 1;
+        for (long i = n / 2 - 1; i >= 0; i--) {
+            siftDown(low, i, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            swap(low, low + end);
+            siftDown(low, 0, end);
+        }
+    }
+
+    private void siftDown(long base, long node, long size) {
+        while (true) {
+            long child = 2 * node + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && at(base + child + 1) > at(base + child)) {
+                child++;
+            }
+            if (at(base + node) >= at(base + child)) {
+                return;
+            }
+            swap(base + node, base + child);
+            node = child;
+        }
+    }
+
+    private int at(long index) {
+        return segment.getAtIndex(INT, index);
+    }
+
+    private void swap(long i, long j) {
+        int temp = segment.getAtIndex(INT, i);
+        segment.setAtIndex(INT, i, segment.getAtIndex(INT, j));
+        segment.setAtIndex(INT, j, temp);
+    }
+
+    // ========== LIFECYCLE ==========
+
+    // Frees the native memory if this array created its own arena
+    @Override
+    public void close() {
+        if (ownsArena) {
+            arena.close();
+        }
+    }
+
+    // Shows at most the first 20 elements
+    @Override
+    public String toString() {
+        int shown = (int) Math.min(length, 20);
+        String prefix = Arrays.toString(toArray(0, shown));
+        return shown < length ? prefix.substring(0, prefix.length() - 1) + ", ...]" : prefix;
+    }
+}
+
+/*
+ * OFF-HEAP INT ARRAY QUICK REFERENCE:
+ *
+ * ALLOCATION:
+ * try (OffHeapIntArray a = new OffHeapIntArray(10_000_000_000L)) { ... }  // 40 GB native
+ * try (Arena arena = Arena.ofConfined()) {
+ *     OffHeapIntArray a = new OffHeapIntArray(arena, n);   // freed with the arena
+ * }
+ *
+ * ACCESS:
+ * a.get(i); a.set(i, value); a.length();      // long indexes
+ *
+ * OPERATIONS:
+ * a.reverse(); a.indexOf(v); a.count(v); a.isSorted();
+ * a.dedup();                                   // sorts in place, shrinks length
+ * OffHeapIntArray.merge(a, b);                 // new array: a then b
+ *
+ * FFM API BASICS:
+ * Arena.ofConfined()   - one thread, freed on close()
+ * Arena.ofShared()     - any thread, freed on close()
+ * Arena.ofAuto()       - freed by the GC when unreachable
+ * Arena.global()       - never freed
+ *
+ * HOW TO RUN (Java 22+):
+ * javac OffHeapIntArray.java
+ * java OffHeapIntArray
+ */
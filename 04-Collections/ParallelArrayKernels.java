@@ -0,0 +1,333 @@
+/**
+ * ParallelArrayKernels.java
+ *
+ * This program demonstrates Fork/Join versions of the ArraysBasics int[]
+ * helpers. A RecursiveTask splits its range in half until the range is
+ * below a sequential threshold, runs the plain loop on it, and combines
+ * the two halves' results on the way back up.
+ *
+ * Key Concepts:
+ * - RecursiveTask (returns a value) and RecursiveAction (doesn't)
+ * - fork() one half, compute() the other, then join()
+ * - Choosing a sequential threshold: too small = task overhead,
+ *   too big = idle cores
+ * - Early exit: a first-match search skips every range that can no longer
+ *   contain an earlier hit
+ * - Running tasks in a dedicated ForkJoinPool to control parallelism
+ *
+ * Parallel versions of: countOccurrences(), findElement(), mergeArrays(),
+ * findSecondLargest()
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelArrayKernels {
+
+    // Ranges at or below this many elements are processed sequentially
+    static final int DEFAULT_THRESHOLD = 1 << 15;
+
+    // How often (in elements) a search leaf checks whether it was overtaken
+    private static final int CANCEL_CHECK_INTERVAL = 1 << 12;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== PARALLEL ARRAY KERNELS DEMONSTRATION ==========\n");
+
+        int[] data = new int[2_000_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (int) ((i * 2654435761L) % 1_000_000);
+        }
+        System.out.println("Array size: " + data.length);
+        System.out.println("Common pool parallelism: " + ForkJoinPool.commonPool().getParallelism());
+
+
+        System.out.println("\n--- 1. Count Occurrences ---\n");
+        System.out.println("Parallel count of 777:   " + countOccurrences(data, 777));
+        System.out.println("Sequential count of 777: " + IntArrayKernels.scalar().count(data, 777));
+
+
+        System.out.println("\n\n--- 2. First-Match Search ---\n");
+        System.out.println("Parallel index of 999999:   " + findElement(data, 999_999));
+        System.out.println("Sequential index of 999999: " + IntArrayKernels.scalar().indexOf(data, 999_999));
+        System.out.println("Parallel index of -1:       " + findElement(data, -1));
+
+
+        System.out.println("\n\n--- 3. Second Largest ---\n");
+        System.out.println("Parallel:   " + findSecondLargest(data));
+        System.out.println("Sequential: " + IntArrayKernels.scalar().secondLargest(data));
+
+
+        System.out.println("\n\n--- 4. Merge Arrays ---\n");
+        int[] merged = mergeArrays(new int[] {1, 3, 5}, new int[] {2, 4, 6});
+        System.out.println("Merged: " + Arrays.toString(merged));
+
+        System.out.println("\nSee ParallelScalingBenchmark.java to pick a threshold for your machine.");
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== COUNT ==========
+
+    static int countOccurrences(int[] arr, int value) {
+        return countOccurrences(arr, value, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    static int countOccurrences(int[] arr, int value, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        return pool.invoke(new CountTask(arr, value, 0, arr.length, threshold));
+    }
+
+    private static final class CountTask extends RecursiveTask<Integer> {
+        private final int[] arr;
+        private final int value;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        CountTask(int[] arr, int value, int from, int to, int threshold) {
+            this.arr = arr;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= threshold) {
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    if (arr[i] == value) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            int middle = (from + to) >>> 1;
+            CountTask right = new CountTask(arr, value, middle, to, threshold);
+            right.fork();
+            int left = new CountTask(arr, value, from, middle, threshold).compute();
+            return left + right.join();
+        }
+    }
+
+    // ========== FIRST MATCH ==========
+
+    static int findElement(int[] arr, int value) {
+        return findElement(arr, value, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Index of the first element equal to value, or -1. All tasks share the
+     * lowest hit found so far; a task whose range starts after that hit
+     * returns immediately, and a running leaf stops as soon as it is overtaken.
+     */
+    static int findElement(int[] arr, int value, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        AtomicInteger firstHit = new AtomicInteger(Integer.MAX_VALUE);
+        pool.invoke(new FindTask(arr, value, 0, arr.length, threshold, firstHit));
+        int index = firstHit.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+
+    private static final class FindTask extends RecursiveAction {
+        private final int[] arr;
+        private final int value;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final AtomicInteger firstHit;
+
+        FindTask(int[] arr, int value, int from, int to, int threshold, AtomicInteger firstHit) {
+            this.arr = arr;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.firstHit = firstHit;
+        }
+
+        @Override
+        protected void compute() {
+            if (firstHit.get() < from) {
+                return; // an earlier range already has a hit
+            }
+            if (to - from <= threshold) {
+                scan();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            FindTask right = new FindTask(arr, value, middle, to, threshold, firstHit);
+            right.fork();
+            new FindTask(arr, value, from, middle, threshold, firstHit).compute();
+            right.join();
+        }
+
+        private void scan() {
+            for (int start = from; start < to; start += CANCEL_CHECK_INTERVAL) {
+                if (firstHit.get() < start) {
+                    return; // overtaken while scanning
+                }
+                int end = Math.min(to, start + CANCEL_CHECK_INTERVAL);
+                for (int i = start; i < end; i++) {
+                    if (arr[i] == value) {
+                        firstHit.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== SECOND LARGEST ==========
+
+    static int findSecondLargest(int[] arr) {
+        return findSecondLargest(arr, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    // Same contract as ArraysBasics.findSecondLargest(): MIN_VALUE if all elements are equal
+    static int findSecondLargest(int[] arr, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        if (arr.length < 2) {
+            throw new IllegalArgumentException("Array must have at least 2 elements");
+        }
+        return pool.invoke(new TopTwoTask(arr, 0, arr.length, threshold))[1];
+    }
+
+    // Returns {largest, secondLargest} of its range
+    private static final class TopTwoTask extends RecursiveTask<int[]> {
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        TopTwoTask(int[] arr, int from, int to, int threshold) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= threshold) {
+                int largest = Integer.MIN_VALUE;
+                int second = Integer.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    int num = arr[i];
+                    if (num > largest) {
+                        second = largest;
+                        largest = num;
+                    } else if (num > second && num != largest) {
+                        second = num;
+                    }
+                }
+                return new int[] {largest, second};
+            }
+            int middle = (from + to) >>> 1;
+            TopTwoTask right = new TopTwoTask(arr, middle, to, threshold);
+            right.fork();
+            int[] a = new TopTwoTask(arr, from, middle, threshold).compute();
+            int[] b = right.join();
+            return combine(a, b);
+        }
+
+        private static int[] combine(int[] a, int[] b) {
+            int largest = Math.max(a[0], b[0]);
+            int second = Integer.MIN_VALUE;
+            for (int candidate : new int[] {a[0], a[1], b[0], b[1]}) {
+                if (candidate != largest && candidate > second) {
+                    second = candidate;
+                }
+            }
+            return new int[] {largest, second};
+        }
+    }
+
+    // ========== MERGE (CONCATENATE) ==========
+
+    static int[] mergeArrays(int[] arr1, int[] arr2) {
+        return mergeArrays(arr1, arr2, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    // arr1 followed by arr2; both halves are copied in parallel chunks
+    static int[] mergeArrays(int[] arr1, int[] arr2, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        int[] merged = new int[arr1.length + arr2.length];
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(new CopyTask(arr1, 0, merged, 0, arr1.length, threshold),
+                          new CopyTask(arr2, 0, merged, arr1.length, arr2.length, threshold));
+            }
+        });
+        return merged;
+    }
+
+    private static final class CopyTask extends RecursiveAction {
+        private final int[] source;
+        private final int sourceFrom;
+        private final int[] target;
+        private final int targetFrom;
+        private final int length;
+        private final int threshold;
+
+        CopyTask(int[] source, int sourceFrom, int[] target, int targetFrom, int length, int threshold) {
+            this.source = source;
+            this.sourceFrom = sourceFrom;
+            this.target = target;
+            this.targetFrom = targetFrom;
+            this.length = length;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (length <= threshold) {
+                System.arraycopy(source, sourceFrom, target, targetFrom, length);
+                return;
+            }
+            int half = length >>> 1;
+            invokeAll(new CopyTask(source, sourceFrom, target, targetFrom, half, threshold),
+                      new CopyTask(source, sourceFrom + half, target, targetFrom + half,
+                                   length - half, threshold));
+        }
+    }
+
+    // A threshold below 1 would split one-element ranges forever
+    private static void checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+    }
+}
+
+/*
+ * PARALLEL ARRAY KERNELS QUICK REFERENCE:
+ *
+ * DEFAULTS (common pool, threshold 32768):
+ * ParallelArrayKernels.countOccurrences(arr, value);
+ * ParallelArrayKernels.findElement(arr, value);
+ * ParallelArrayKernels.findSecondLargest(arr);
+ * ParallelArrayKernels.mergeArrays(arr1, arr2);
+ *
+ * CUSTOM POOL AND THRESHOLD:
+ * try (ForkJoinPool pool = new ForkJoinPool(4)) {
+ *     ParallelArrayKernels.countOccurrences(arr, value, pool, 65_536);
+ * }
+ *
+ * FORK/JOIN PATTERN:
+ * if (size <= threshold) return sequential();
+ * right.fork();                 // run right half asynchronously
+ * left = leftTask.compute();    // run left half in this thread
+ * return combine(left, right.join());
+ *
+ * HOW TO RUN:
+ * javac ParallelArrayKernels.java
+ * java ParallelArrayKernels
+ */
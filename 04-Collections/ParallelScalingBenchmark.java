@@ -0,0 +1,77 @@
+/**
+ * ParallelScalingBenchmark.java
+ *
+ * Measures the Fork/Join kernels in ParallelArrayKernels with 1, 2, 4 ...
+ * up to all available cores, and with several sequential thresholds, so a
+ * threshold can be chosen for the machine at hand.
+ *
+ * Usage: java ParallelScalingBenchmark [size]
+ *   size  number of ints in the test array (default 20,000,000)
+ *
+ * Uses the Bench harness (warmup + median), not JMH.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelScalingBenchmark {
+
+    private static final int[] THRESHOLDS = {1 << 12, 1 << 15, 1 << 18, 1 << 21};
+
+    public static void main(String[] args) {
+        int size = Bench.intArg(args, 0, 20_000_000);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] data = new Random(11).ints(size, 0, 1_000_000).toArray();
+        int[] half = new int[size / 2];
+
+        System.out.println("========== PARALLEL SCALING BENCHMARK ==========\n");
+        System.out.println("Array size: " + size + ", cores: " + cores + "\n");
+
+        System.out.println("--- Sequential baseline ---");
+        Bench.measure("count", () -> IntArrayKernels.scalar().count(data, 42));
+        Bench.measure("secondLargest", () -> IntArrayKernels.scalar().secondLargest(data));
+        System.out.println();
+
+        for (int parallelism : workerCounts(cores)) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                System.out.println("--- " + parallelism + " worker(s) ---");
+                for (int threshold : THRESHOLDS) {
+                    String suffix = " (threshold " + threshold + ")";
+                    Bench.measure("count" + suffix,
+                        () -> ParallelArrayKernels.countOccurrences(data, 42, pool, threshold));
+                    Bench.measure("findElement, miss" + suffix,
+                        () -> ParallelArrayKernels.findElement(data, -1, pool, threshold));
+                    Bench.measure("secondLargest" + suffix,
+                        () -> ParallelArrayKernels.findSecondLargest(data, pool, threshold));
+                    Bench.measure("mergeArrays" + suffix,
+                        () -> ParallelArrayKernels.mergeArrays(half, half, pool, threshold));
+                }
+                System.out.println();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        System.out.println("========== END OF BENCHMARK ==========");
+    }
+
+    // 1, 2, 4 ... below cores, then cores itself, so the last round uses every core
+    static List<Integer> workerCounts(int cores) {
+        List<Integer> counts = new ArrayList<>();
+        for (int parallelism = 1; parallelism < cores; parallelism *= 2) {
+            counts.add(parallelism);
+        }
+        counts.add(cores);
+        return counts;
+    }
+}
+
+/*
+ * HOW TO RUN:
+ * javac ParallelScalingBenchmark.java
+ * java -Xmx1g ParallelScalingBenchmark
+ * java -Xmx4g ParallelScalingBenchmark 200000000
+ */
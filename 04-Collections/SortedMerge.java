@@ -0,0 +1,257 @@
+/**
+ * SortedMerge.java
+ *
+ * This program demonstrates merging sorted sequences in linear time.
+ * Concatenating two lists and calling Collections.sort() costs O(n log n)
+ * even when both inputs are already sorted. Merging them side by side costs
+ * O(n), and a heap generalizes the idea to any number of inputs.
+ *
+ * Key Concepts:
+ * - Two-way merge of sorted lists
+ * - Detecting already-sorted input before paying for a sort
+ * - K-way merge with a PriorityQueue holding one cursor per input
+ * - Lazy merging of Iterators: nothing is materialized up front
+ * - Stable merging: equal elements keep the order of their inputs
+ *
+ * Used by: ArrayListDemo.mergeAndSort()
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+public class SortedMerge {
+
+    public static void main(String[] args) {
+
+        System.out.println("========== SORTED MERGE DEMONSTRATION ==========\n");
+
+        // ========== TWO-WAY MERGE ==========
+
+        System.out.println("--- 1. Two Sorted Lists ---\n");
+
+        List<Integer> a = Arrays.asList(1, 4, 7, 10);
+        List<Integer> b = Arrays.asList(2, 3, 8, 11, 12);
+        System.out.println("A: " + a);
+        System.out.println("B: " + b);
+        System.out.println("Merged: " + mergeSorted(a, b));
+
+        // Unsorted inputs are sorted individually first, then merged
+        List<Integer> unsorted = Arrays.asList(9, 5, 6);
+        System.out.println("\nA + unsorted " + unsorted + ": " + mergeSorted(a, unsorted));
+
+
+        // ========== K-WAY MERGE ==========
+
+        System.out.println("\n\n--- 2. K-Way Merge of Shard Outputs ---\n");
+
+        List<List<String>> shards = List.of(
+            List.of("apple", "kiwi", "plum"),
+            List.of("banana", "cherry"),
+            List.of(),
+            List.of("apricot", "fig", "grape", "zucchini"));
+        shards.forEach(shard -> System.out.println("Shard: " + shard));
+        System.out.println("Merged: " + merge(shards, Comparator.naturalOrder()));
+
+
+        // ========== STREAMING FROM ITERATORS ==========
+
+        System.out.println("\n\n--- 3. Streaming Merge (Iterators) ---\n");
+
+        List<Iterator<Integer>> sources = new ArrayList<>();
+        for (int start = 0; start < 3; start++) {
+            sources.add(multiplesOf3From(start, 5));
+        }
+        Iterator<Integer> merged = mergeIterators(sources, Comparator.naturalOrder());
+        System.out.print("Merged stream: ");
+        while (merged.hasNext()) {
+            System.out.print(merged.next() + " ");
+        }
+        System.out.println();
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // Yields start, start + 3, start + 6, ... (count values), computed on demand
+    private static Iterator<Integer> multiplesOf3From(int start, int count) {
+        return new Iterator<>() {
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return start + 3 * produced++;
+            }
+        };
+    }
+
+    // ========== TWO-WAY ==========
+
+    /**
+     * Merges two lists into one sorted list. Inputs that are already sorted
+     * are merged as-is in O(n + m); an unsorted input is copied and sorted first.
+     */
+    static <T extends Comparable<? super T>> List<T> mergeSorted(List<T> list1, List<T> list2) {
+        return mergeSorted(list1, list2, Comparator.naturalOrder());
+    }
+
+    static <T> List<T> mergeSorted(List<T> list1, List<T> list2, Comparator<? super T> order) {
+        List<T> left = sortedView(list1, order);
+        List<T> right = sortedView(list2, order);
+        List<T> result = new ArrayList<>(left.size() + right.size());
+        Iterator<T> i = left.iterator();
+        Iterator<T> j = right.iterator();
+        T x = i.hasNext() ? i.next() : null;
+        T y = j.hasNext() ? j.next() : null;
+        boolean hasX = !left.isEmpty();
+        boolean hasY = !right.isEmpty();
+        while (hasX && hasY) {
+            // <= keeps the merge stable: ties come from list1 first
+            if (order.compare(x, y) <= 0) {
+                result.add(x);
+                hasX = i.hasNext();
+                x = hasX ? i.next() : null;
+            } else {
+                result.add(y);
+                hasY = j.hasNext();
+                y = hasY ? j.next() : null;
+            }
+        }
+        if (hasX) {
+            result.add(x);
+            i.forEachRemaining(result::add);
+        }
+        if (hasY) {
+            result.add(y);
+            j.forEachRemaining(result::add);
+        }
+        return result;
+    }
+
+    // ========== K-WAY ==========
+
+    // Merges any number of sorted lists; unsorted ones are sorted first
+    static <T> List<T> merge(List<? extends List<T>> lists, Comparator<? super T> order) {
+        int total = 0;
+        List<Iterator<T>> sources = new ArrayList<>(lists.size());
+        for (List<T> list : lists) {
+            total += list.size();
+            sources.add(sortedView(list, order).iterator());
+        }
+        List<T> result = new ArrayList<>(total);
+        mergeIterators(sources, order).forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Lazily merges already-sorted iterators. Holds one element per source in
+     * a min-heap, so memory is O(k) and each next() costs O(log k), no matter
+     * how long the inputs are. Sources are read only as far as needed.
+     */
+    static <T> Iterator<T> mergeIterators(List<? extends Iterator<? extends T>> sources,
+                                          Comparator<? super T> order) {
+        return new KWayIterator<>(sources, order);
+    }
+
+    private static final class KWayIterator<T> implements Iterator<T> {
+
+        // Current head of one source; index breaks ties so the merge is stable
+        private static final class Cursor<T> {
+            final Iterator<? extends T> source;
+            final int index;
+            T head;
+
+            Cursor(Iterator<? extends T> source, int index) {
+                this.source = source;
+                this.index = index;
+                this.head = source.next();
+            }
+        }
+
+        private final PriorityQueue<Cursor<T>> heap;
+
+        KWayIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+            Comparator<Cursor<T>> byHead = (c1, c2) -> order.compare(c1.head, c2.head);
+            heap = new PriorityQueue<>(Math.max(1, sources.size()),
+                byHead.thenComparingInt(cursor -> cursor.index));
+            for (int i = 0; i < sources.size(); i++) {
+                Iterator<? extends T> source = sources.get(i);
+                if (source.hasNext()) {
+                    heap.add(new Cursor<>(source, i));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Cursor<T> smallest = heap.poll();
+            if (smallest == null) {
+                throw new NoSuchElementException();
+            }
+            T value = smallest.head;
+            if (smallest.source.hasNext()) {
+                smallest.head = smallest.source.next();
+                heap.add(smallest);
+            }
+            return value;
+        }
+    }
+
+    // ========== HELPERS ==========
+
+    // The list itself if it is already sorted, otherwise a sorted copy. O(n) check.
+    private static <T> List<T> sortedView(List<T> list, Comparator<? super T> order) {
+        T previous = null;
+        boolean first = true;
+        for (T item : list) {
+            if (!first && order.compare(previous, item) > 0) {
+                List<T> copy = new ArrayList<>(list);
+                copy.sort(order);
+                return copy;
+            }
+            previous = item;
+            first = false;
+        }
+        return list;
+    }
+}
+
+/*
+ * SORTED MERGE QUICK REFERENCE:
+ *
+ * TWO LISTS:
+ * SortedMerge.mergeSorted(list1, list2);               // natural order
+ * SortedMerge.mergeSorted(list1, list2, comparator);
+ *
+ * MANY LISTS:
+ * SortedMerge.merge(listOfLists, comparator);
+ *
+ * STREAMING (nothing materialized):
+ * Iterator<T> it = SortedMerge.mergeIterators(iterators, comparator);
+ *
+ * TIME COMPLEXITY (n = total elements, k = number of inputs):
+ * concat + Collections.sort()   - O(n log n)
+ * mergeSorted() of sorted input - O(n)
+ * merge() / mergeIterators()    - O(n log k), O(k) extra memory
+ *
+ * HOW TO RUN:
+ * javac SortedMerge.java
+ * java SortedMerge
+ */
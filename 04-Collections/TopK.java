@@ -0,0 +1,532 @@
+/**
+ * TopK.java
+ *
+ * This program demonstrates selecting the k largest (top-K) or k smallest
+ * (bottom-K) values without sorting everything. ArraysBasics.findSecondLargest()
+ * is the k = 2 special case and HashMapDemo.findHighestGrade() is k = 1.
+ *
+ * Three strategies:
+ * - HEAP:        one pass with a k-sized heap whose root is the worst value kept.
+ *                O(n log k) time, O(k) memory, input untouched
+ * - QUICKSELECT: introselect partitions the data so the k best come first.
+ *                O(n) average; selectInPlace() reorders the caller's array
+ * - PARALLEL:    every chunk computes its own top-k on a Fork/Join worker and
+ *                the partial results are merged. O(n log k / cores)
+ *
+ * Key Concepts:
+ * - Bounded min-heap for top-K (max-heap for bottom-K)
+ * - Three-way partitioning and introselect's depth limit
+ * - Primitive overloads for int[], long[] and double[] (no boxing), sharing
+ *   one implementation over order-preserving long keys
+ * - A generic version for any type with a Comparator
+ *
+ * Results are ordered best-first: descending for top(), ascending for bottom().
+ * Duplicates count separately: top({5, 5, 3}, 2) is {5, 5}.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class TopK {
+
+    enum Strategy { HEAP, QUICKSELECT, PARALLEL }
+
+    // Inputs at least this long use the parallel strategy (when k is small)
+    static final int PARALLEL_MIN_SIZE = 1 << 20;
+
+    // Elements per parallel leaf task
+    static final int PARALLEL_CHUNK = 1 << 16;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== TOP-K SELECTION DEMONSTRATION ==========\n");
+
+        // ========== PRIMITIVE ARRAYS ==========
+
+        System.out.println("--- 1. Top-K and Bottom-K of an int[] ---\n");
+
+        int[] scores = {45, 78, 23, 89, 12, 67, 89, 34};
+        System.out.println("Scores:   " + Arrays.toString(scores));
+        System.out.println("Top 3:    " + Arrays.toString(top(scores, 3)));
+        System.out.println("Bottom 3: " + Arrays.toString(bottom(scores, 3)));
+        System.out.println("Top 2 (cf. findSecondLargest): " + Arrays.toString(top(scores, 2)));
+
+
+        System.out.println("\n\n--- 2. All Strategies Agree ---\n");
+
+        long[] big = new Random(3).longs(2_000_000, 0, 1_000_000_000L).toArray();
+        for (Strategy strategy : Strategy.values()) {
+            System.out.println(strategy + ": " + Arrays.toString(top(big, 5, strategy)));
+        }
+        System.out.println("Automatic choice for n=" + big.length + ", k=5: " + choose(big.length, 5));
+
+        double[] temperatures = {21.5, -3.0, 17.25, 30.1, 8.0};
+        System.out.println("\nColdest 2 of " + Arrays.toString(temperatures) + ": "
+            + Arrays.toString(bottom(temperatures, 2)));
+
+
+        System.out.println("\n\n--- 3. In-Place Partial Order ---\n");
+
+        int[] data = {9, 1, 8, 2, 7, 3, 6, 4, 5};
+        selectInPlace(data, 3, true);
+        System.out.println("After selectInPlace(k=3): " + Arrays.toString(data)
+            + "  <- first 3 are the largest, unordered");
+
+
+        System.out.println("\n\n--- 4. Objects with a Comparator ---\n");
+
+        Map<String, Integer> grades = Map.of("Alice", 85, "Bob", 92, "Charlie", 78, "Diana", 95, "Eve", 88);
+        System.out.println("Top 1 (cf. findHighestGrade): "
+            + top(grades.entrySet(), 1, Map.Entry.comparingByValue()));
+        System.out.println("Top 3 students: " + top(grades.entrySet(), 3, Map.Entry.comparingByValue()));
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // Picks a strategy from the input size and k
+    static Strategy choose(int n, int k) {
+        if (n >= PARALLEL_MIN_SIZE && k <= n / 64) {
+            return Strategy.PARALLEL;
+        }
+        // A heap is cheapest while log k stays small; beyond that partitioning wins
+        return k <= n / 16 ? Strategy.HEAP : Strategy.QUICKSELECT;
+    }
+
+    private static int clamp(int k, int n) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        return Math.min(k, n);
+    }
+
+    // selectInPlace() has no result to shorten, so k beyond the array is an error instead of clamped
+    private static void checkRank(int k, int n) {
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("k must be in [0, " + n + "]: " + k);
+        }
+    }
+
+    // ========== OBJECTS ==========
+
+    // The k largest items by order, best-first
+    static <T> List<T> top(Iterable<T> items, int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        if (k == 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(k, order);
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(Collections.reverseOrder(order));
+        return result;
+    }
+
+    // The k smallest items by order, best (smallest) first
+    static <T> List<T> bottom(Iterable<T> items, int k, Comparator<? super T> order) {
+        return top(items, k, Collections.reverseOrder(order));
+    }
+
+    // ========== PRIMITIVES ==========
+
+    static int[] top(int[] values, int k) {
+        return top(values, k, choose(values.length, k));
+    }
+
+    static int[] bottom(int[] values, int k) {
+        return bottom(values, k, choose(values.length, k));
+    }
+
+    static int[] top(int[] values, int k, Strategy strategy) {
+        return IntKeys.values(select(new IntKeys(values), k, true, strategy));
+    }
+
+    static int[] bottom(int[] values, int k, Strategy strategy) {
+        return IntKeys.values(select(new IntKeys(values), k, false, strategy));
+    }
+
+    static void selectInPlace(int[] values, int k, boolean largest) {
+        checkRank(k, values.length);
+        selectInPlace(new IntKeys(values), k, largest);
+    }
+
+    static long[] top(long[] values, int k) {
+        return top(values, k, choose(values.length, k));
+    }
+
+    static long[] bottom(long[] values, int k) {
+        return bottom(values, k, choose(values.length, k));
+    }
+
+    static long[] top(long[] values, int k, Strategy strategy) {
+        return select(new LongKeys(values), k, true, strategy);
+    }
+
+    static long[] bottom(long[] values, int k, Strategy strategy) {
+        return select(new LongKeys(values), k, false, strategy);
+    }
+
+    static void selectInPlace(long[] values, int k, boolean largest) {
+        checkRank(k, values.length);
+        selectInPlace(new LongKeys(values), k, largest);
+    }
+
+    // doubles are ordered like Double.compare(): -0.0 before 0.0, NaN above everything
+    static double[] top(double[] values, int k) {
+        return top(values, k, choose(values.length, k));
+    }
+
+    static double[] bottom(double[] values, int k) {
+        return bottom(values, k, choose(values.length, k));
+    }
+
+    static double[] top(double[] values, int k, Strategy strategy) {
+        return DoubleKeys.values(select(new DoubleKeys(values), k, true, strategy));
+    }
+
+    static double[] bottom(double[] values, int k, Strategy strategy) {
+        return DoubleKeys.values(select(new DoubleKeys(values), k, false, strategy));
+    }
+
+    static void selectInPlace(double[] values, int k, boolean largest) {
+        checkRank(k, values.length);
+        selectInPlace(new DoubleKeys(values), k, largest);
+    }
+
+    // ========== PRIMITIVE ACCESS ==========
+
+    /**
+     * A primitive array seen as long keys that sort like its values, so the
+     * selection code below is written once for int[], long[] and double[].
+     * Reads go through key(); swap() and sort() work on the array itself.
+     */
+    private interface Keys {
+        int length();
+
+        long key(int i);
+
+        void swap(int i, int j);
+
+        // Ascending sort of [from, to) in the array's own order
+        void sort(int from, int to);
+
+        Keys copy();
+    }
+
+    private record IntKeys(int[] array) implements Keys {
+        public int length() {
+            return array.length;
+        }
+
+        public long key(int i) {
+            return array[i];
+        }
+
+        public void swap(int i, int j) {
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+
+        public void sort(int from, int to) {
+            Arrays.sort(array, from, to);
+        }
+
+        public Keys copy() {
+            return new IntKeys(array.clone());
+        }
+
+        static int[] values(long[] keys) {
+            int[] values = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = (int) keys[i];
+            }
+            return values;
+        }
+    }
+
+    private record LongKeys(long[] array) implements Keys {
+        public int length() {
+            return array.length;
+        }
+
+        public long key(int i) {
+            return array[i];
+        }
+
+        public void swap(int i, int j) {
+            long temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+
+        public void sort(int from, int to) {
+            Arrays.sort(array, from, to);
+        }
+
+        public Keys copy() {
+            return new LongKeys(array.clone());
+        }
+    }
+
+    private record DoubleKeys(double[] array) implements Keys {
+        public int length() {
+            return array.length;
+        }
+
+        // Flipping the magnitude bits of negatives makes the bit patterns sort as signed longs
+        public long key(int i) {
+            return flip(Double.doubleToLongBits(array[i]));
+        }
+
+        public void swap(int i, int j) {
+            double temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+
+        public void sort(int from, int to) {
+            Arrays.sort(array, from, to);
+        }
+
+        public Keys copy() {
+            return new DoubleKeys(array.clone());
+        }
+
+        static double[] values(long[] keys) {
+            double[] values = new double[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = Double.longBitsToDouble(flip(keys[i]));
+            }
+            return values;
+        }
+
+        private static long flip(long bits) {
+            return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+    }
+
+    // ========== SELECTION ==========
+
+    private static long[] select(Keys keys, int k, boolean largest, Strategy strategy) {
+        int count = clamp(k, keys.length());
+        if (count == 0) {
+            return new long[0];
+        }
+        return switch (strategy) {
+            case HEAP -> heapSelect(keys, 0, keys.length(), count, largest);
+            case QUICKSELECT -> {
+                Keys copy = keys.copy();
+                selectInPlace(copy, count, largest);
+                yield sortedPrefix(copy, count, largest);
+            }
+            case PARALLEL -> ForkJoinPool.commonPool()
+                .invoke(new SelectTask(keys, 0, keys.length(), count, largest, PARALLEL_CHUNK));
+        };
+    }
+
+    /**
+     * Introselect: reorders values so that values[0 .. k) hold the k largest
+     * (or smallest) elements, in no particular order. Three-way partitioning
+     * keeps runs of equal values cheap; if the recursion gets too deep the
+     * remaining range is simply sorted.
+     */
+    private static void selectInPlace(Keys values, int k, boolean largest) {
+        int low = 0;
+        int high = values.length() - 1;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, values.length())));
+        while (high > low) {
+            if (depthLimit-- == 0) {
+                values.sort(low, high + 1);
+                if (largest) {
+                    reverse(values, low, high);
+                }
+                return;
+            }
+            long pivot = medianOfThree(values.key(low), values.key((low + high) >>> 1), values.key(high), largest);
+            int lessThan = low;
+            int i = low;
+            int greaterThan = high;
+            while (i <= greaterThan) {
+                long key = values.key(i);
+                if (before(key, pivot, largest)) {
+                    values.swap(lessThan++, i++);
+                } else if (before(pivot, key, largest)) {
+                    values.swap(i, greaterThan--);
+                } else {
+                    i++;
+                }
+            }
+            // [low, lessThan) ranks ahead of pivot, [lessThan, greaterThan] equals it
+            if (k <= lessThan) {
+                high = lessThan - 1;
+            } else if (k <= greaterThan + 1) {
+                return;
+            } else {
+                low = greaterThan + 1;
+            }
+        }
+    }
+
+    // Bounded heap over values[from, to): the root is the worst of the k kept so far
+    private static long[] heapSelect(Keys values, int from, int to, int k, boolean largest) {
+        int count = Math.min(k, to - from);
+        long[] heap = new long[count];
+        for (int i = 0; i < count; i++) {
+            long x = values.key(from + i);
+            int child = i;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (!before(heap[parent], x, largest)) {
+                    break;
+                }
+                heap[child] = heap[parent];
+                child = parent;
+            }
+            heap[child] = x;
+        }
+        for (int i = from + count; i < to; i++) {
+            long x = values.key(i);
+            if (before(x, heap[0], largest)) {
+                int parent = 0;
+                while (true) {
+                    int child = 2 * parent + 1;
+                    if (child >= count) {
+                        break;
+                    }
+                    if (child + 1 < count && before(heap[child], heap[child + 1], largest)) {
+                        child++;
+                    }
+                    if (!before(x, heap[child], largest)) {
+                        break;
+                    }
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = x;
+            }
+        }
+        sortBestFirst(heap, largest);
+        return heap;
+    }
+
+    // Per-chunk top-k in parallel; neighbouring results are merged best-first
+    private static final class SelectTask extends RecursiveTask<long[]> {
+        private final Keys values;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final boolean largest;
+        private final int chunk;
+
+        SelectTask(Keys values, int from, int to, int k, boolean largest, int chunk) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.largest = largest;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= Math.max(chunk, 2 * k)) {
+                return heapSelect(values, from, to, k, largest);
+            }
+            int middle = (from + to) >>> 1;
+            SelectTask right = new SelectTask(values, middle, to, k, largest, chunk);
+            right.fork();
+            long[] a = new SelectTask(values, from, middle, k, largest, chunk).compute();
+            long[] b = right.join();
+            long[] merged = new long[Math.min(k, a.length + b.length)];
+            int i = 0;
+            int j = 0;
+            for (int out = 0; out < merged.length; out++) {
+                merged[out] = j == b.length || (i < a.length && !before(b[j], a[i], largest)) ? a[i++] : b[j++];
+            }
+            return merged;
+        }
+    }
+
+    // True if a ranks ahead of b: greater for top-k, smaller for bottom-k
+    private static boolean before(long a, long b, boolean largest) {
+        return largest ? a > b : a < b;
+    }
+
+    private static long medianOfThree(long a, long b, long c, boolean largest) {
+        if (before(a, b, largest)) {
+            return before(b, c, largest) ? b : before(a, c, largest) ? c : a;
+        }
+        return before(a, c, largest) ? a : before(b, c, largest) ? c : b;
+    }
+
+    // The keys of the first count elements, ordered best-first
+    private static long[] sortedPrefix(Keys values, int count, boolean largest) {
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = values.key(i);
+        }
+        sortBestFirst(result, largest);
+        return result;
+    }
+
+    private static void sortBestFirst(long[] keys, boolean largest) {
+        Arrays.sort(keys);
+        if (largest) {
+            for (int left = 0, right = keys.length - 1; left < right; left++, right--) {
+                long temp = keys[left];
+                keys[left] = keys[right];
+                keys[right] = temp;
+            }
+        }
+    }
+
+    private static void reverse(Keys values, int left, int right) {
+        while (left < right) {
+            values.swap(left++, right--);
+        }
+    }
+}
+
+/*
+ * TOP-K QUICK REFERENCE:
+ *
+ * PRIMITIVES (int[], long[], double[]):
+ * TopK.top(values, k);                          // k largest, descending
+ * TopK.bottom(values, k);                       // k smallest, ascending
+ * TopK.top(values, k, TopK.Strategy.PARALLEL);  // force a strategy
+ * TopK.selectInPlace(values, k, true);          // reorder, k largest first
+ *
+ * OBJECTS:
+ * TopK.top(items, k, comparator);
+ * TopK.top(map.entrySet(), 10, Map.Entry.comparingByValue());
+ *
+ * CHOOSING:
+ * small k, any n        -> HEAP         O(n log k), O(k) memory
+ * large k               -> QUICKSELECT  O(n) average, copies the input
+ * n >= 1M, small k      -> PARALLEL     O(n log k / cores)
+ *
+ * AVOID:
+ * Arrays.sort(copy) then take the end   // O(n log n) for k values
+ *
+ * HOW TO RUN:
+ * javac TopK.java
+ * java TopK
+ */
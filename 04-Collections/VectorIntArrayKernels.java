@@ -0,0 +1,164 @@
+/**
+ * VectorIntArrayKernels.java
+ *
+ * SIMD versions of the ArraysBasics int[] loops using the Vector API.
+ * Each loop handles SPECIES.length() ints per step (8 on AVX2, 16 on AVX-512)
+ * and finishes the last few elements with an ordinary scalar loop.
+ *
+ * Key Concepts:
+ * - IntVector.fromArray() / intoArray() to move lanes in and out of an array
+ * - Comparisons produce a VectorMask: anyTrue(), firstTrue(), trueCount()
+ * - reduceLanes(MAX) for horizontal reductions
+ * - rearrange() with a reversing VectorShuffle
+ * - A scalar "tail" loop for the elements that don't fill a whole vector
+ *
+ * This class needs the incubator module at compile time AND run time.
+ * IntArrayKernels loads it by name, so nothing else depends on it directly.
+ */
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+public class VectorIntArrayKernels implements IntArrayKernels.Kernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final VectorShuffle<Integer> REVERSE =
+        VectorShuffle.iota(SPECIES, LANES - 1, -1, true);
+
+    public static void main(String[] args) {
+        System.out.println("Vector species: " + SPECIES + " (" + LANES + " ints per vector)");
+        System.out.println("Run IntArrayKernels for the full demonstration.");
+    }
+
+    @Override
+    public int indexOf(int[] arr, int value) {
+        int i = 0;
+        int upper = SPECIES.loopBound(arr.length);
+        for (; i < upper; i += LANES) {
+            VectorMask<Integer> hits = IntVector.fromArray(SPECIES, arr, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        for (; i < arr.length; i++) {
+            if (arr[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int count(int[] arr, int value) {
+        int count = 0;
+        int i = 0;
+        int upper = SPECIES.loopBound(arr.length);
+        for (; i < upper; i += LANES) {
+            count += IntVector.fromArray(SPECIES, arr, i).eq(value).trueCount();
+        }
+        for (; i < arr.length; i++) {
+            if (arr[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isSorted(int[] arr) {
+        // Compare each vector with the same vector shifted by one element
+        int i = 0;
+        int upper = arr.length - LANES;
+        for (; i < upper; i += LANES) {
+            IntVector current = IntVector.fromArray(SPECIES, arr, i);
+            IntVector next = IntVector.fromArray(SPECIES, arr, i + 1);
+            if (current.compare(VectorOperators.GT, next).anyTrue()) {
+                return false;
+            }
+        }
+        for (i = Math.max(i, 1); i < arr.length; i++) {
+            if (arr[i] < arr[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int secondLargest(int[] arr) {
+        // Pass 1: the maximum. Pass 2: the maximum of everything below it.
+        return maxBelow(arr, max(arr));
+    }
+
+    private static int max(int[] arr) {
+        IntVector best = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        int i = 0;
+        int upper = SPECIES.loopBound(arr.length);
+        for (; i < upper; i += LANES) {
+            best = best.max(IntVector.fromArray(SPECIES, arr, i));
+        }
+        int result = best.reduceLanes(VectorOperators.MAX);
+        for (; i < arr.length; i++) {
+            result = Math.max(result, arr[i]);
+        }
+        return result;
+    }
+
+    // Largest element strictly below bound, Integer.MIN_VALUE if there is none
+    private static int maxBelow(int[] arr, int bound) {
+        IntVector best = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        int i = 0;
+        int upper = SPECIES.loopBound(arr.length);
+        for (; i < upper; i += LANES) {
+            IntVector v = IntVector.fromArray(SPECIES, arr, i);
+            best = best.lanewise(VectorOperators.MAX, v, v.compare(VectorOperators.LT, bound));
+        }
+        int result = best.reduceLanes(VectorOperators.MAX);
+        for (; i < arr.length; i++) {
+            if (arr[i] > result && arr[i] < bound) {
+                result = arr[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void reverse(int[] arr) {
+        // Swap a vector from the front with a vector from the back, each lane-reversed
+        int left = 0;
+        int right = arr.length - LANES;
+        while (left + LANES <= right) {
+            IntVector front = IntVector.fromArray(SPECIES, arr, left).rearrange(REVERSE);
+            IntVector back = IntVector.fromArray(SPECIES, arr, right).rearrange(REVERSE);
+            back.intoArray(arr, left);
+            front.intoArray(arr, right);
+            left += LANES;
+            right -= LANES;
+        }
+        // The untouched middle section [left, right + LANES) is reversed in place
+        int i = left;
+        int j = right + LANES - 1;
+        while (i < j) {
+            int temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+            i++;
+            j--;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector (" + LANES + " x int)";
+    }
+}
+
+/*
+ * HOW TO RUN:
+ * javac --add-modules jdk.incubator.vector IntArrayKernels.java VectorIntArrayKernels.java
+ * java --add-modules jdk.incubator.vector IntArrayKernels
+ */
@@ -0,0 +1,211 @@
+/**
+ * WhitespaceTokenizer.java
+ *
+ * This program demonstrates a reusable, allocation-free whitespace tokenizer.
+ * text.split("\\s+") compiles a regex and allocates a String[] plus one String
+ * per token. This tokenizer walks any CharSequence (String, StringBuilder,
+ * CharBuffer) and hands out token offsets instead of token objects.
+ *
+ * Key Concepts:
+ * - Cursor-style iteration: next(), start(), end()
+ * - Working with offsets into a CharSequence instead of substrings
+ * - Reusing one tokenizer across many inputs with reset()
+ * - KeyFactory hook: create (or intern) a String only when one is really needed
+ *
+ * Used by: HashMapDemo.countWords() together with FrequencyCounters.StringCounter
+ */
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WhitespaceTokenizer {
+
+    /**
+     * Creates the String stored for a token, e.g. as a map key.
+     * Called only when a new key is needed, never for tokens already seen.
+     */
+    @FunctionalInterface
+    interface KeyFactory {
+        String create(CharSequence source, int start, int end);
+    }
+
+    /** Receives each token as a range of the source. */
+    @FunctionalInterface
+    interface TokenConsumer {
+        void accept(CharSequence source, int start, int end);
+    }
+
+    // Plain copy of the token's characters
+    static final KeyFactory COPY = (source, start, end) -> source.subSequence(start, end).toString();
+
+    // Copy plus String.intern(), so equal tokens share one String across counters
+    static final KeyFactory INTERN = (source, start, end) -> COPY.create(source, start, end).intern();
+
+    public static void main(String[] args) {
+
+        System.out.println("========== WHITESPACE TOKENIZER DEMONSTRATION ==========\n");
+
+        // ========== OFFSETS INSTEAD OF STRINGS ==========
+
+        System.out.println("--- 1. Token Offsets ---\n");
+
+        String text = "  java is\tgreat\njava is fun  ";
+        WhitespaceTokenizer tokenizer = new WhitespaceTokenizer(text);
+        while (tokenizer.next()) {
+            System.out.println("[" + tokenizer.start() + ", " + tokenizer.end() + ") -> " + tokenizer.token());
+        }
+
+        // split() produces an empty first token for leading whitespace
+        System.out.println("\nsplit(\"\\\\s+\") length: " + text.split("\\s+").length);
+        System.out.println("countTokens():        " + countTokens(text));
+
+
+        // ========== REUSE WITH A CHARBUFFER ==========
+
+        System.out.println("\n\n--- 2. Reusing the Tokenizer on a CharBuffer ---\n");
+
+        CharBuffer buffer = CharBuffer.wrap("first line of input");
+        tokenizer.reset(buffer);
+        List<String> tokens = new ArrayList<>();
+        tokenizer.forEach((source, start, end) -> tokens.add(COPY.create(source, start, end)));
+        System.out.println("Tokens: " + tokens);
+
+
+        // ========== COUNTING WITHOUT PER-TOKEN STRINGS ==========
+
+        System.out.println("\n\n--- 3. Counting Into a StringCounter ---\n");
+
+        FrequencyCounters.StringCounter counter = new FrequencyCounters.StringCounter();
+        tokenizer.reset("to be or not to be");
+        while (tokenizer.next()) {
+            // A String key is created only the first time a word is seen
+            counter.increment(tokenizer.source(), tokenizer.start(), tokenizer.end(), INTERN);
+        }
+        System.out.println("Word counts: " + counter.asMap());
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    private CharSequence source = "";
+    private int limit;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+
+    WhitespaceTokenizer() {
+    }
+
+    WhitespaceTokenizer(CharSequence source) {
+        reset(source);
+    }
+
+    // Points the tokenizer at a new input; no allocation
+    WhitespaceTokenizer reset(CharSequence source) {
+        this.source = source;
+        this.limit = source.length();
+        this.position = 0;
+        this.tokenStart = 0;
+        this.tokenEnd = 0;
+        return this;
+    }
+
+    // Advances to the next token; returns false when the input is exhausted
+    boolean next() {
+        int i = position;
+        while (i < limit && isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        if (i == limit) {
+            position = limit;
+            return false;
+        }
+        tokenStart = i;
+        while (i < limit && !isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        tokenEnd = i;
+        position = i;
+        return true;
+    }
+
+    // Offset of the first char of the current token
+    int start() {
+        return tokenStart;
+    }
+
+    // Offset just past the last char of the current token
+    int end() {
+        return tokenEnd;
+    }
+
+    CharSequence source() {
+        return source;
+    }
+
+    // Materializes the current token (allocates)
+    String token() {
+        return token(COPY);
+    }
+
+    String token(KeyFactory factory) {
+        return factory.create(source, tokenStart, tokenEnd);
+    }
+
+    // Calls action for every remaining token
+    void forEach(TokenConsumer action) {
+        while (next()) {
+            action.accept(source, tokenStart, tokenEnd);
+        }
+    }
+
+    // Same character class as the regex \s: space, \t, \n, \u000B, \f, \r
+    static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    // Counts tokens without creating any of them
+    static int countTokens(CharSequence text) {
+        int count = 0;
+        boolean inToken = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            boolean whitespace = isWhitespace(text.charAt(i));
+            if (!whitespace && !inToken) {
+                count++;
+            }
+            inToken = !whitespace;
+        }
+        return count;
+    }
+}
+
+/*
+ * WHITESPACE TOKENIZER QUICK REFERENCE:
+ *
+ * ITERATION:
+ * WhitespaceTokenizer t = new WhitespaceTokenizer(text);
+ * while (t.next()) {
+ *     int start = t.start();
+ *     int end = t.end();
+ *     // use text.charAt(start .. end - 1)
+ * }
+ *
+ * REUSE:
+ * t.reset(otherText);            // works with String, StringBuilder, CharBuffer
+ *
+ * MATERIALIZING:
+ * t.token();                     // new String
+ * t.token(WhitespaceTokenizer.INTERN);   // interned String
+ *
+ * COUNTING:
+ * counter.increment(t.source(), t.start(), t.end(), WhitespaceTokenizer.COPY);
+ *
+ * DIFFERENCES FROM split("\\s+"):
+ * - No regex, no String[] and no String per token
+ * - Leading whitespace does not produce an empty token
+ *
+ * HOW TO RUN:
+ * javac WhitespaceTokenizer.java
+ * java WhitespaceTokenizer
+ */
@@ -0,0 +1,534 @@
+/**
+ * AsyncLogAppender.java
+ *
+ * This program demonstrates a log appender that keeps file I/O off the
+ * threads that log. WritingFiles.writeLogFile() used to open the file,
+ * build a DateTimeFormatter, append one line and close the file again for
+ * every message: three system calls and a formatter per line, all on the
+ * caller's thread.
+ *
+ * Here log() only puts the message and the current time into a ring buffer
+ * and returns. A single writer thread takes everything that is queued,
+ * formats it into sixteen 64 KB direct buffers and hands them to the kernel
+ * in one gathering FileChannel.write(ByteBuffer[]). At tens of thousands of
+ * lines per second that is a few hundred writes instead of tens of
+ * thousands of open/write/close triplets.
+ *
+ * The ring buffer is multi-producer, single-consumer and lock-free (the
+ * bounded queue by Dmitry Vyukov): every slot has a sequence number, a
+ * producer claims a position with one compareAndSet on the tail and
+ * publishes its slot by advancing the slot's sequence. The writer never
+ * touches the tail; it reads slots in order until one is not published yet.
+ *
+ * Policies:
+ * - flush interval: 0 writes as soon as entries arrive, N ms collects
+ *   entries for up to N ms into bigger writes
+ * - sync: NEVER leaves durability to the OS, EVERY_BATCH calls force()
+ *   after each write, PERIODIC at most every N ms
+ * - full ring: block until the writer catches up, or drop and count
+ *
+ * Key Concepts:
+ * - Lock-free MPSC ring buffer with per-slot sequence numbers
+ * - Gathering writes (FileChannel.write(ByteBuffer[]))
+ * - Caching the formatted timestamp per second
+ * - LockSupport.park/unpark instead of busy waiting
+ * - Trading latency and durability for throughput, explicitly
+ *
+ * Used by: WritingFiles.writeLogFile()
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncLogAppender implements Closeable {
+
+    enum Sync { NEVER, EVERY_BATCH, PERIODIC }
+
+    /**
+     * capacity: ring slots (rounded up to a power of two);
+     * flushIntervalMillis: 0 = write as soon as possible;
+     * syncIntervalMillis: only used by Sync.PERIODIC;
+     * dropWhenFull: false = log() waits for space.
+     */
+    record Options(int capacity, long flushIntervalMillis, Sync sync, long syncIntervalMillis,
+                   boolean dropWhenFull) {
+        static Options defaults() {
+            return new Options(1 << 16, 0, Sync.PERIODIC, 1000, false);
+        }
+
+        Options withFlushInterval(long millis) {
+            return new Options(capacity, millis, sync, syncIntervalMillis, dropWhenFull);
+        }
+
+        Options withSync(Sync sync, long intervalMillis) {
+            return new Options(capacity, flushIntervalMillis, sync, intervalMillis, dropWhenFull);
+        }
+
+        Options withDropWhenFull(boolean drop) {
+            return new Options(capacity, flushIntervalMillis, sync, syncIntervalMillis, drop);
+        }
+    }
+
+    private static final DateTimeFormatter TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final int PAGE_BYTES = 1 << 16;
+    private static final int PAGES = 16;
+    private static final long IDLE_PARK_NANOS = 10_000_000;
+
+    // A ring slot; written by the producer that claimed it, read by the writer
+    private static final class Slot {
+        long timeMillis;
+        String message;
+    }
+
+    private final FileChannel channel;
+    private final Options options;
+
+    // The ring: slot i may be claimed at position p when sequences[i] == p, read when it is p + 1
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final Thread writer;
+    private final ByteBuffer[] pages = new ByteBuffer[PAGES];
+    private int page;
+    private long cachedSecond = Long.MIN_VALUE;
+    private byte[] cachedPrefix;
+
+    private volatile boolean closed;
+    private volatile boolean sleeping;
+    private volatile long written;
+    private volatile long batches;
+    private volatile IOException failure;
+    private final LongAdder dropped = new LongAdder();
+
+    public static void main(String[] args) throws InterruptedException {
+
+        System.out.println("========== ASYNC LOG APPENDER DEMONSTRATION ==========\n");
+
+        Path file = Path.of("async_demo.log");
+        Path slowFile = Path.of("sync_demo.log");
+        try {
+
+            // ========== BASIC USE ==========
+
+            System.out.println("--- 1. Logging Without Waiting for the Disk ---\n");
+
+            try (AsyncLogAppender log = open(file)) {
+                log.log("Application started");
+                log.log("User login: john.doe");
+                log.log("Application shutdown");
+            }
+            Files.readAllLines(file).forEach(line -> System.out.println("  " + line));
+            Files.delete(file);
+
+
+            // ========== THROUGHPUT ==========
+
+            System.out.println("\n\n--- 2. Four Threads Logging ---\n");
+
+            int perThread = 250_000;
+            try (AsyncLogAppender log = open(file)) {
+                long start = System.nanoTime();
+                List<Thread> threads = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int id = t;
+                    Thread thread = new Thread(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            log.log("worker-" + id + " processed request " + i);
+                        }
+                    });
+                    thread.start();
+                    threads.add(thread);
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                log.flush();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("AsyncLogAppender: %,d lines in %.2f s (%,.0f lines/s) with %,d writes%n",
+                    4 * perThread, seconds, 4 * perThread / seconds, log.batches());
+            }
+            try (var lines = Files.lines(file)) {
+                System.out.println("Lines in file:    " + lines.count());
+            }
+
+            // The old way: open, append, close per line
+            int slowLines = 20_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < slowLines; i++) {
+                String timestamp = Instant.now().atZone(ZoneId.systemDefault())
+                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+                Files.writeString(slowFile, String.format("[%s] %s%n", timestamp, "processed request " + i),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Files.writeString per line: %,d lines in %.2f s (%,.0f lines/s)%n",
+                slowLines, seconds, slowLines / seconds);
+
+
+            // ========== POLICIES ==========
+
+            System.out.println("\n\n--- 3. Flush and Sync Policies ---\n");
+
+            Options[] policies = {
+                Options.defaults().withSync(Sync.NEVER, 0),
+                Options.defaults().withSync(Sync.EVERY_BATCH, 0),
+                Options.defaults().withFlushInterval(20).withSync(Sync.EVERY_BATCH, 0),
+                Options.defaults().withDropWhenFull(true).withSync(Sync.NEVER, 0),
+            };
+            for (Options policy : policies) {
+                Files.deleteIfExists(file);
+                try (AsyncLogAppender log = open(file, policy)) {
+                    start = System.nanoTime();
+                    for (int i = 0; i < 200_000; i++) {
+                        log.log("event " + i);
+                    }
+                    log.flush();
+                    System.out.printf("flush=%2dms sync=%-11s drop=%-5b %6.1f ms, %,6d writes, %,d dropped%n",
+                        policy.flushIntervalMillis(), policy.sync(), policy.dropWhenFull(),
+                        (System.nanoTime() - start) / 1e6, log.batches(), log.dropped());
+                }
+            }
+
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error logging: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(slowFile);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    static AsyncLogAppender open(Path path) throws IOException {
+        return open(path, Options.defaults());
+    }
+
+    // Appends to path (created if missing) and starts the writer thread
+    static AsyncLogAppender open(Path path, Options options) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new AsyncLogAppender(channel, options);
+    }
+
+    private AsyncLogAppender(FileChannel channel, Options options) {
+        this.channel = channel;
+        this.options = options;
+        int capacity = Integer.highestOneBit(Math.max(2, options.capacity()) * 2 - 1);
+        this.slots = new Slot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        for (int i = 0; i < PAGES; i++) {
+            pages[i] = ByteBuffer.allocateDirect(PAGE_BYTES);
+        }
+        this.writer = new Thread(this::writeLoop, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ========== PRODUCERS ==========
+
+    /**
+     * Queues message with the current time. Returns false if the ring was
+     * full and the options say to drop. Entries logged while close() runs
+     * may be lost.
+     */
+    boolean log(String message) {
+        Objects.requireNonNull(message, "message");
+        if (closed) {
+            throw new IllegalStateException("Appender is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Log writer failed", failure);
+        }
+        long now = System.currentTimeMillis();
+        while (!offer(now, message)) {
+            if (options.dropWhenFull()) {
+                dropped.increment();
+                return false;
+            }
+            // Full: make sure the writer is awake and give it a moment
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(10_000);
+            if (failure != null || closed) {
+                throw new IllegalStateException("Appender stopped while waiting for space", failure);
+            }
+        }
+        if (sleeping && options.flushIntervalMillis() == 0) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private boolean offer(long timeMillis, String message) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                // The writer has not freed this slot since the last lap: full
+                return false;
+            }
+            // Otherwise another producer took this position; try the next one
+        }
+        Slot slot = slots[index];
+        slot.timeMillis = timeMillis;
+        slot.message = message;
+        sequences.setRelease(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Waits until everything logged before this call has been written to
+     * the file (not necessarily forced to disk; see Sync).
+     */
+    void flush() throws IOException {
+        long target = tail.get();
+        while (written < target) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!writer.isAlive()) {
+                throw new IOException("Log writer is not running");
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while flushing the log");
+            }
+        }
+    }
+
+    long batches() {
+        return batches;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    // ========== WRITER THREAD ==========
+
+    private void writeLoop() {
+        long flushIntervalNanos = options.flushIntervalMillis() * 1_000_000;
+        long lastSync = System.nanoTime();
+        boolean unsynced = false;
+        try {
+            while (true) {
+                boolean closing = closed;
+                boolean pagesFull = fillPages();
+                if (pagesUsed()) {
+                    writePages();
+                    unsynced = true;
+                }
+                if (unsynced && (options.sync() == Sync.EVERY_BATCH || (options.sync() == Sync.PERIODIC
+                        && System.nanoTime() - lastSync >= options.syncIntervalMillis() * 1_000_000))) {
+                    channel.force(false);
+                    lastSync = System.nanoTime();
+                    unsynced = false;
+                }
+                if (closing && isEmpty()) {
+                    break;
+                }
+                if (!pagesFull && (flushIntervalNanos > 0 || isEmpty())) {
+                    sleeping = true;
+                    if (flushIntervalNanos > 0 || isEmpty()) {
+                        LockSupport.parkNanos(flushIntervalNanos > 0 ? flushIntervalNanos : IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                }
+            }
+            if (unsynced && options.sync() != Sync.NEVER) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            // Record it, or producers waiting for space would wait forever
+            failure = new IOException("Log writer failed", e);
+        }
+    }
+
+    private boolean isEmpty() {
+        return sequences.getAcquire((int) head & mask) != head + 1;
+    }
+
+    /**
+     * Moves published entries from the ring into the pages until the ring
+     * is empty (false) or the next entry does not fit (true).
+     */
+    private boolean fillPages() throws IOException {
+        while (!isEmpty()) {
+            int index = (int) head & mask;
+            Slot slot = slots[index];
+            byte[] prefix = prefix(slot.timeMillis);
+            byte[] message = slot.message.getBytes(StandardCharsets.UTF_8);
+            int size = prefix.length + message.length + LINE_SEPARATOR.length;
+            boolean alone = size > freeBytes();
+            if (alone) {
+                if (pagesUsed()) {
+                    return true;
+                }
+                // Larger than all pages together: write it on its own
+                writeFully(new ByteBuffer[] {
+                    ByteBuffer.wrap(prefix), ByteBuffer.wrap(message), ByteBuffer.wrap(LINE_SEPARATOR)});
+            } else {
+                put(prefix);
+                put(message);
+                put(LINE_SEPARATOR);
+            }
+            slot.message = null;
+            sequences.setRelease(index, head + slots.length);
+            head++;
+            if (alone) {
+                written = head;
+            }
+        }
+        return false;
+    }
+
+    // "[2024-01-15 10:30:00] ", formatted once per second
+    private byte[] prefix(long timeMillis) {
+        long second = Math.floorDiv(timeMillis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedPrefix = ("[" + TIMESTAMP.format(Instant.ofEpochSecond(second)) + "] ")
+                .getBytes(StandardCharsets.UTF_8);
+        }
+        return cachedPrefix;
+    }
+
+    private int freeBytes() {
+        return pages[page].remaining() + (PAGES - 1 - page) * PAGE_BYTES;
+    }
+
+    private boolean pagesUsed() {
+        return page > 0 || pages[0].position() > 0;
+    }
+
+    private void put(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!pages[page].hasRemaining()) {
+                page++;
+            }
+            int n = Math.min(bytes.length - offset, pages[page].remaining());
+            pages[page].put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    // One gathering write of all used pages
+    private void writePages() throws IOException {
+        int used = page + 1;
+        for (int i = 0; i < used; i++) {
+            pages[i].flip();
+        }
+        writeFully(used == PAGES ? pages : Arrays.copyOf(pages, used));
+        for (int i = 0; i < used; i++) {
+            pages[i].clear();
+        }
+        page = 0;
+        written = head;
+    }
+
+    private void writeFully(ByteBuffer[] buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        batches++;
+    }
+
+    /**
+     * Writes everything queued, forces it to disk unless Sync.NEVER, and
+     * closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the log");
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
+
+/*
+ * ASYNC LOG APPENDER QUICK REFERENCE:
+ *
+ * BASIC:
+ * try (AsyncLogAppender log = AsyncLogAppender.open(Path.of("app.log"))) {
+ *     log.log("User login: " + user);      // returns immediately
+ * }                                         // drains, forces, closes
+ *
+ * POLICIES:
+ * Options.defaults()                                   // write ASAP, force every second, block when full
+ *     .withFlushInterval(20)                           // batch up to 20 ms per write
+ *     .withSync(AsyncLogAppender.Sync.EVERY_BATCH, 0)  // force() after every write
+ *     .withDropWhenFull(true);                         // never block the caller
+ *
+ * WAIT FOR THE FILE:
+ * log.flush();                              // everything logged so far is written
+ *
+ * MPSC RING (Vyukov):
+ * producer: claim tail with CAS when sequence[i] == pos, write slot, sequence[i] = pos + 1
+ * consumer: read when sequence[i] == head + 1, then sequence[i] = head + capacity
+ *
+ * HOW TO RUN:
+ * javac AsyncLogAppender.java
+ * java AsyncLogAppender
+ */
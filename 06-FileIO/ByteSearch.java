@@ -0,0 +1,259 @@
+/**
+ * ByteSearch.java
+ *
+ * This program demonstrates grep-style searching on the encoded bytes of a
+ * file. ReadingFiles.findLinesContaining() used to decode every line into a
+ * String just to call contains(). ByteSearch looks for the UTF-8 bytes of
+ * the keyword in the mapped file and only decodes the lines that match.
+ *
+ * The search is Boyer-Moore-Horspool: compare the last byte of the pattern
+ * first, and on a mismatch jump ahead by a distance looked up from the byte
+ * that was read. For a keyword of length m most positions are skipped, so
+ * the search reads roughly n / m bytes instead of n.
+ *
+ * Results are a lazy Stream: each Match (line offset, match offset and the
+ * line itself) is produced only when the stream asks for it, so
+ * findFirst() or limit(10) stop reading the file early.
+ *
+ * Key Concepts:
+ * - Boyer-Moore-Horspool bad-character shift table (int[256])
+ * - Searching UTF-8 bytes: a valid UTF-8 keyword can only match at a
+ *   character boundary
+ * - Custom Spliterator for a lazy, ordered Stream
+ * - Closing the file through Stream.onClose() and try-with-resources
+ *
+ * Used by: ReadingFiles.findLinesContaining(), MappedFileScanner.findLinesContaining()
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ByteSearch {
+
+    // A line that contains the pattern; offsets are byte offsets in the file
+    record Match(long lineOffset, long matchOffset, String line) {
+    }
+
+    private final byte[] pattern;
+    private final int[] shift = new int[256];
+
+    public static void main(String[] args) {
+
+        System.out.println("========== BYTE SEARCH DEMONSTRATION ==========\n");
+
+        Path file = Path.of("search_sample.txt");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 1; i <= 200_000; i++) {
+                content.append(i).append(i % 50_000 == 0 ? " ERROR disk full" : " INFO request served")
+                    .append('\n');
+            }
+            Files.writeString(file, content);
+
+
+            // ========== SHIFT TABLE ==========
+
+            System.out.println("--- 1. Horspool Shift Table ---\n");
+
+            ByteSearch search = new ByteSearch("ERROR");
+            System.out.println("Pattern 'ERROR': shift['R'] = " + search.shift['R']
+                + ", shift['E'] = " + search.shift['E'] + ", any other byte = " + search.shift['x']);
+
+
+            // ========== LAZY STREAM ==========
+
+            System.out.println("\n\n--- 2. Matching Lines as a Lazy Stream ---\n");
+
+            try (Stream<Match> matches = matchingLines(file, "ERROR")) {
+                matches.forEach(match -> System.out.println("  @" + match.lineOffset() + ": " + match.line()));
+            }
+
+            try (Stream<Match> matches = matchingLines(file, "ERROR")) {
+                // Stops reading after the first match
+                System.out.println("\nFirst match only: " + matches.findFirst().map(Match::line).orElse("none"));
+            }
+
+            try (Stream<Match> matches = matchingLines(file, "INFO")) {
+                System.out.println("Lines with INFO:  " + matches.count());
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error searching file: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    ByteSearch(String keyword) {
+        this(keyword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Lines are split at '\n', so a pattern containing '\n' could never match a line
+    ByteSearch(byte[] pattern) {
+        for (byte b : pattern) {
+            if (b == '\n') {
+                throw new IllegalArgumentException("Pattern must not contain a line break");
+            }
+        }
+        this.pattern = pattern.clone();
+        // Distance from a byte's last occurrence (excluding the final position) to the end
+        Arrays.fill(shift, Math.max(1, pattern.length));
+        for (int k = 0; k < pattern.length - 1; k++) {
+            shift[pattern[k] & 0xFF] = pattern.length - 1 - k;
+        }
+    }
+
+    // ========== BOYER-MOORE-HORSPOOL ==========
+
+    // Index of the first occurrence in bytes[from, to), or -1; absolute gets only
+    int indexOf(ByteBuffer bytes, int from, int to) {
+        int m = pattern.length;
+        if (m == 0) {
+            return from < to ? from : -1;
+        }
+        int last = m - 1;
+        byte lastByte = pattern[last];
+        int i = from;
+        while (i <= to - m) {
+            byte b = bytes.get(i + last);
+            if (b == lastByte && matchesAt(bytes, i, last)) {
+                return i;
+            }
+            i += shift[b & 0xFF];
+        }
+        return -1;
+    }
+
+    // Compares pattern[0, length) with bytes starting at position
+    private boolean matchesAt(ByteBuffer bytes, int position, int length) {
+        for (int k = 0; k < length; k++) {
+            if (bytes.get(position + k) != pattern[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ========== MATCHING LINES ==========
+
+    // Matching lines of bytes[position, limit); offsets are reported as base + index
+    Stream<Match> matchingLines(ByteBuffer bytes, long base) {
+        return StreamSupport.stream(new LineSpliterator(bytes, base), false);
+    }
+
+    /**
+     * Lazily streams the lines of a UTF-8 file that contain keyword. The file
+     * is mapped in line-aligned pieces of up to MappedFileScanner.MAX_CHUNK_BYTES,
+     * one after another. Close the stream to close the file.
+     */
+    static Stream<Match> matchingLines(Path path, String keyword) throws IOException {
+        ByteSearch search = new ByteSearch(keyword);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            int pieces = (int) Math.max(1, (size + MappedFileScanner.MAX_CHUNK_BYTES - 1)
+                / MappedFileScanner.MAX_CHUNK_BYTES);
+            List<MappedFileScanner.Chunk> chunks = MappedFileScanner.split(channel, pieces);
+            return chunks.stream()
+                .flatMap(chunk -> search.matchingLines(map(channel, chunk), chunk.start()))
+                .onClose(() -> close(channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, MappedFileScanner.Chunk chunk) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Each tryAdvance() searches from the end of the previous matching line
+    private final class LineSpliterator extends Spliterators.AbstractSpliterator<Match> {
+        private final ByteBuffer bytes;
+        private final long base;
+        private final int limit;
+        private int position;
+
+        LineSpliterator(ByteBuffer bytes, long base) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.bytes = bytes;
+            this.base = base;
+            this.limit = bytes.limit();
+            this.position = bytes.position();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Match> action) {
+            int match = indexOf(bytes, position, limit);
+            if (match < 0) {
+                position = limit;
+                return false;
+            }
+            int lineStart = match;
+            while (lineStart > position && bytes.get(lineStart - 1) != '\n') {
+                lineStart--;
+            }
+            int lineEnd = match + pattern.length;
+            while (lineEnd < limit && bytes.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            position = lineEnd + 1;
+            action.accept(new Match(base + lineStart, base + match,
+                MappedFileScanner.decodeLine(bytes, lineStart, lineEnd)));
+            return true;
+        }
+    }
+}
+
+/*
+ * BYTE SEARCH QUICK REFERENCE:
+ *
+ * GREP A FILE (lazy, close the stream):
+ * try (Stream<ByteSearch.Match> matches = ByteSearch.matchingLines(path, "ERROR")) {
+ *     matches.limit(100).forEach(m -> System.out.println(m.lineOffset() + ": " + m.line()));
+ * }
+ *
+ * SEARCH A BUFFER:
+ * ByteSearch search = new ByteSearch("needle");
+ * int index = search.indexOf(buffer, from, to);        // -1 if absent
+ *
+ * HORSPOOL SHIFT TABLE:
+ * shift[b] = m                     for bytes not in pattern[0 .. m-2]
+ * shift[b] = m - 1 - lastIndexOf(b) in pattern[0 .. m-2]
+ *
+ * HOW TO RUN:
+ * javac ByteSearch.java
+ * java ByteSearch
+ */
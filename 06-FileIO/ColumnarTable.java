@@ -0,0 +1,627 @@
+/**
+ * ColumnarTable.java
+ *
+ * This program demonstrates loading a CSV file into columns instead of rows.
+ * After ReadingFiles.readCSV() every row is a String[], so "average salary by
+ * department" parses "75000" again for every query and jumps from row object
+ * to row object. A columnar table stores each column as one array:
+ *
+ *   ID          long[]    {101, 102, 103, ...}
+ *   Salary      long[]    {75000, 65000, ...}
+ *   Department  int[]     {0, 1, 2, 3, 0, ...}   + dictionary {Engineering, Marketing, Sales, HR}
+ *
+ * Numbers are parsed once, strings are stored once per distinct value, and
+ * an aggregation is a tight loop over one or two primitive arrays - the kind
+ * of loop the JIT unrolls and the CPU prefetches well. Large tables are
+ * split into row ranges that are aggregated in parallel.
+ *
+ * Key Concepts:
+ * - Column-oriented storage and type inference (LONG, DOUBLE, STRING)
+ * - Dictionary encoding: strings become small int codes
+ * - Filters as bitmaps (one bit per row), combined with and()
+ * - Group-by on dictionary codes with dense arrays instead of a HashMap
+ * - Parallel aggregation over row ranges, partial results merged
+ *
+ * Java Features Used: Java 16+ (records, pattern matching for instanceof)
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+public class ColumnarTable {
+
+    enum Type { LONG, DOUBLE, STRING }
+
+    // Rows per parallel task; a multiple of 64 so tasks never share a bitmap word
+    static final int CHUNK_ROWS = 1 << 16;
+
+    private final int rowCount;
+    private final List<String> names;
+    private final Type[] types;
+    // long[] for LONG, double[] for DOUBLE, StringColumn for STRING
+    private final Object[] columns;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== COLUMNAR TABLE DEMONSTRATION ==========\n");
+
+        Path small = Path.of("employees.csv");
+        Path large = Path.of("employees_large.csv");
+        try {
+            // Same content as WritingFiles.writeCSVFile()
+            Files.writeString(small, """
+                ID,Name,Age,Department,Salary
+                101,Alice Johnson,28,Engineering,75000
+                102,Bob Smith,35,Marketing,65000
+                103,Charlie Brown,42,Sales,70000
+                104,Diana Prince,31,HR,60000
+                105,Eve Wilson,29,Engineering,80000
+                """);
+
+
+            // ========== LOADING ==========
+
+            System.out.println("--- 1. Loading employees.csv Into Columns ---\n");
+
+            ColumnarTable employees = load(small);
+            System.out.println(employees);
+
+
+            // ========== QUERIES ==========
+
+            System.out.println("\n\n--- 2. Filter, Group By, Aggregate ---\n");
+
+            Selection all = employees.all();
+            System.out.println("Average salary:              " + employees.average("Salary", all));
+            System.out.println("Average salary by department: " + employees.averageBy("Department", "Salary", all));
+
+            Selection engineers = employees.whereEquals("Department", "Engineering");
+            Selection under30 = employees.whereBetween("Age", 0, 29);
+            System.out.println("Engineers under 30:          " + engineers.and(under30).count());
+            System.out.println("Total salary of engineers:   " + employees.sum("Salary", engineers));
+
+
+            // ========== PARALLEL ==========
+
+            System.out.println("\n\n--- 3. Two Million Rows ---\n");
+
+            String[] departments = {"Engineering", "Marketing", "Sales", "HR", "Finance", "Legal"};
+            Random random = new Random(3);
+            StringBuilder csv = new StringBuilder("ID,Name,Age,Department,Salary\n");
+            for (int i = 0; i < 2_000_000; i++) {
+                csv.append(i).append(",Employee ").append(i).append(',').append(22 + random.nextInt(40)).append(',')
+                    .append(departments[random.nextInt(departments.length)]).append(',')
+                    .append(40_000 + random.nextInt(80_000)).append('\n');
+            }
+            Files.writeString(large, csv);
+
+            long start = System.currentTimeMillis();
+            ColumnarTable big = load(large);
+            System.out.println("Loaded " + big.rowCount() + " rows in " + (System.currentTimeMillis() - start) + "ms");
+
+            start = System.nanoTime();
+            Map<String, Double> averages = big.averageBy("Department", "Salary", big.all());
+            System.out.printf("Average salary by department in %.1fms:%n", (System.nanoTime() - start) / 1e6);
+            averages.forEach((department, average) -> System.out.printf("  %-12s %10.2f%n", department, average));
+
+        } catch (IOException e) {
+            System.err.println("Error loading table: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(small);
+                Files.deleteIfExists(large);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    private ColumnarTable(int rowCount, List<String> names, Type[] types, Object[] columns) {
+        this.rowCount = rowCount;
+        this.names = names;
+        this.types = types;
+        this.columns = columns;
+    }
+
+    // ========== LOADING ==========
+
+    /**
+     * Reads the CSV twice with CsvReader. The first pass infers each column's
+     * type and counts the rows, so the second pass can fill arrays of the
+     * exact size without growing them. Empty cells in a numeric column make
+     * it DOUBLE and are stored as NaN, which the aggregations skip.
+     */
+    static ColumnarTable load(Path csv) throws IOException {
+        List<String> names;
+        Type[] types;
+        int rows = 0;
+        try (CsvReader reader = CsvReader.open(csv)) {
+            names = reader.readHeader();
+            types = new Type[names.size()];
+            Arrays.fill(types, Type.LONG);
+            while (reader.next()) {
+                CsvReader.Row row = reader.row();
+                for (int c = 0; c < types.length; c++) {
+                    types[c] = widen(types[c], row, c);
+                }
+                rows++;
+            }
+        }
+
+        Object[] columns = new Object[types.length];
+        for (int c = 0; c < types.length; c++) {
+            columns[c] = switch (types[c]) {
+                case LONG -> new long[rows];
+                case DOUBLE -> new double[rows];
+                case STRING -> new StringColumn(rows);
+            };
+        }
+        try (CsvReader reader = CsvReader.open(csv)) {
+            reader.readHeader();
+            int r = 0;
+            while (reader.next() && r < rows) {
+                CsvReader.Row row = reader.row();
+                for (int c = 0; c < columns.length; c++) {
+                    boolean present = c < row.size() && !row.isEmpty(c);
+                    if (columns[c] instanceof long[] longs) {
+                        longs[r] = row.getLong(c);
+                    } else if (columns[c] instanceof double[] doubles) {
+                        doubles[r] = present ? row.getDouble(c) : Double.NaN;
+                    } else {
+                        ((StringColumn) columns[c]).set(r, present ? row.get(c) : "");
+                    }
+                }
+                r++;
+            }
+            if (r != rows) {
+                throw new IOException(csv + " changed while it was being loaded");
+            }
+        }
+        return new ColumnarTable(rows, names, types, columns);
+    }
+
+    // The narrowest type that holds both the column so far and this cell
+    private static Type widen(Type type, CsvReader.Row row, int column) {
+        if (type == Type.STRING) {
+            return type;
+        }
+        if (column >= row.size() || row.isEmpty(column)) {
+            return Type.DOUBLE;
+        }
+        if (type == Type.LONG) {
+            try {
+                row.getLong(column);
+                return Type.LONG;
+            } catch (NumberFormatException e) {
+                // not a whole number; try DOUBLE below
+            }
+        }
+        try {
+            row.getDouble(column);
+            return Type.DOUBLE;
+        } catch (NumberFormatException e) {
+            return Type.STRING;
+        }
+    }
+
+    // ========== SCHEMA ==========
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    List<String> columnNames() {
+        return names;
+    }
+
+    Type type(String column) {
+        return types[indexOf(column)];
+    }
+
+    private int indexOf(String column) {
+        int index = names.indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException("No column named " + column + " in " + names);
+        }
+        return index;
+    }
+
+    private StringColumn strings(String column) {
+        if (columns[indexOf(column)] instanceof StringColumn strings) {
+            return strings;
+        }
+        throw new IllegalArgumentException(column + " is not a STRING column");
+    }
+
+    private Object numbers(String column) {
+        Object data = columns[indexOf(column)];
+        if (data instanceof StringColumn) {
+            throw new IllegalArgumentException(column + " is not a numeric column");
+        }
+        return data;
+    }
+
+    // ========== FILTERS ==========
+
+    Selection all() {
+        Selection selection = new Selection(rowCount);
+        Arrays.fill(selection.bits, -1L);
+        if ((rowCount & 63) != 0) {
+            selection.bits[selection.bits.length - 1] = (1L << rowCount) - 1;
+        }
+        return selection;
+    }
+
+    // Rows whose STRING column equals value: one int comparison per row
+    Selection whereEquals(String column, String value) {
+        StringColumn strings = strings(column);
+        Selection selection = new Selection(rowCount);
+        Integer code = strings.codes.get(value);
+        if (code == null) {
+            return selection;
+        }
+        int target = code;
+        int[] values = strings.values;
+        chunks().forEach(chunk -> {
+            for (int r = chunkStart(chunk), end = chunkEnd(chunk); r < end; r++) {
+                if (values[r] == target) {
+                    selection.bits[r >>> 6] |= 1L << r;
+                }
+            }
+        });
+        return selection;
+    }
+
+    // Rows whose numeric column lies in [min, max]
+    Selection whereBetween(String column, double min, double max) {
+        Object data = numbers(column);
+        Selection selection = new Selection(rowCount);
+        chunks().forEach(chunk -> {
+            for (int r = chunkStart(chunk), end = chunkEnd(chunk); r < end; r++) {
+                double value = data instanceof long[] longs ? longs[r] : ((double[]) data)[r];
+                if (value >= min && value <= max) {
+                    selection.bits[r >>> 6] |= 1L << r;
+                }
+            }
+        });
+        return selection;
+    }
+
+    // ========== AGGREGATES ==========
+
+    double sum(String column, Selection rows) {
+        return totals(column, rows)[0];
+    }
+
+    // NaN when no selected row has a value
+    double average(String column, Selection rows) {
+        double[] totals = totals(column, rows);
+        return totals[1] == 0 ? Double.NaN : totals[0] / totals[1];
+    }
+
+    // {sum, count} over the selected rows, skipping NaN
+    private double[] totals(String column, Selection rows) {
+        Object data = numbers(column);
+        return chunks()
+            .mapToObj(chunk -> {
+                double[] partial = new double[2];
+                int fromWord = chunkStart(chunk) >>> 6;
+                int toWord = (chunkEnd(chunk) + 63) >>> 6;
+                // Resolve the column type once per chunk so the row loops see only primitive arrays
+                if (data instanceof long[] longs) {
+                    addTotals(longs, rows.bits, fromWord, toWord, partial);
+                } else {
+                    addTotals((double[]) data, rows.bits, fromWord, toWord, partial);
+                }
+                return partial;
+            })
+            .reduce(new double[2], (a, b) -> new double[] {a[0] + b[0], a[1] + b[1]});
+    }
+
+    /**
+     * Visits the rows selected by bits[fromWord .. toWord) one bitmap word at a
+     * time: a full word (always the case for all()) is a plain loop over 64
+     * rows, any other word jumps from set bit to set bit.
+     */
+    private static void addTotals(long[] values, long[] bits, int fromWord, int toWord, double[] totals) {
+        double sum = 0;
+        long count = 0;
+        for (int w = fromWord; w < toWord; w++) {
+            long word = bits[w];
+            int base = w << 6;
+            if (word == -1L) {
+                for (int r = base; r < base + 64; r++) {
+                    sum += values[r];
+                }
+                count += 64;
+            } else {
+                count += Long.bitCount(word);
+                for (; word != 0; word &= word - 1) {
+                    sum += values[base + Long.numberOfTrailingZeros(word)];
+                }
+            }
+        }
+        totals[0] += sum;
+        totals[1] += count;
+    }
+
+    private static void addTotals(double[] values, long[] bits, int fromWord, int toWord, double[] totals) {
+        double sum = 0;
+        long count = 0;
+        for (int w = fromWord; w < toWord; w++) {
+            long word = bits[w];
+            int base = w << 6;
+            if (word == -1L) {
+                for (int r = base; r < base + 64; r++) {
+                    double value = values[r];
+                    if (value == value) {
+                        sum += value;
+                        count++;
+                    }
+                }
+            } else {
+                for (; word != 0; word &= word - 1) {
+                    double value = values[base + Long.numberOfTrailingZeros(word)];
+                    if (value == value) {
+                        sum += value;
+                        count++;
+                    }
+                }
+            }
+        }
+        totals[0] += sum;
+        totals[1] += count;
+    }
+
+    // Group key -> sum of valueColumn over the selected rows, keys in sorted order
+    Map<String, Double> sumBy(String groupColumn, String valueColumn, Selection rows) {
+        GroupTotals totals = groupTotals(groupColumn, valueColumn, rows);
+        Map<String, Double> result = new TreeMap<>();
+        for (int g = 0; g < totals.sums.length; g++) {
+            if (totals.counts[g] > 0) {
+                result.put(totals.keys[g], totals.sums[g]);
+            }
+        }
+        return result;
+    }
+
+    // Group key -> average of valueColumn over the selected rows, keys in sorted order
+    Map<String, Double> averageBy(String groupColumn, String valueColumn, Selection rows) {
+        GroupTotals totals = groupTotals(groupColumn, valueColumn, rows);
+        Map<String, Double> result = new TreeMap<>();
+        for (int g = 0; g < totals.sums.length; g++) {
+            if (totals.counts[g] > 0) {
+                result.put(totals.keys[g], totals.sums[g] / totals.counts[g]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The dictionary code of each row's group is the index into dense sum
+     * and count arrays - no hashing per row. Every chunk fills its own
+     * arrays; the arrays are then added together.
+     */
+    private GroupTotals groupTotals(String groupColumn, String valueColumn, Selection rows) {
+        StringColumn groups = strings(groupColumn);
+        Object data = numbers(valueColumn);
+        String[] keys = groups.dictionary.toArray(new String[0]);
+        int[] codes = groups.values;
+        return chunks()
+            .mapToObj(chunk -> {
+                GroupTotals partial = new GroupTotals(keys);
+                int fromWord = chunkStart(chunk) >>> 6;
+                int toWord = (chunkEnd(chunk) + 63) >>> 6;
+                if (data instanceof long[] longs) {
+                    addGroupTotals(longs, codes, rows.bits, fromWord, toWord, partial);
+                } else {
+                    addGroupTotals((double[]) data, codes, rows.bits, fromWord, toWord, partial);
+                }
+                return partial;
+            })
+            .reduce(new GroupTotals(keys), GroupTotals::plus);
+    }
+
+    // Same word-at-a-time walk as addTotals()
+    private static void addGroupTotals(long[] values, int[] codes, long[] bits, int fromWord, int toWord,
+                                       GroupTotals totals) {
+        double[] sums = totals.sums;
+        long[] counts = totals.counts;
+        for (int w = fromWord; w < toWord; w++) {
+            long word = bits[w];
+            int base = w << 6;
+            if (word == -1L) {
+                for (int r = base; r < base + 64; r++) {
+                    sums[codes[r]] += values[r];
+                    counts[codes[r]]++;
+                }
+            } else {
+                for (; word != 0; word &= word - 1) {
+                    int r = base + Long.numberOfTrailingZeros(word);
+                    sums[codes[r]] += values[r];
+                    counts[codes[r]]++;
+                }
+            }
+        }
+    }
+
+    private static void addGroupTotals(double[] values, int[] codes, long[] bits, int fromWord, int toWord,
+                                       GroupTotals totals) {
+        double[] sums = totals.sums;
+        long[] counts = totals.counts;
+        for (int w = fromWord; w < toWord; w++) {
+            long word = bits[w];
+            int base = w << 6;
+            if (word == -1L) {
+                for (int r = base; r < base + 64; r++) {
+                    double value = values[r];
+                    if (value == value) {
+                        sums[codes[r]] += value;
+                        counts[codes[r]]++;
+                    }
+                }
+            } else {
+                for (; word != 0; word &= word - 1) {
+                    int r = base + Long.numberOfTrailingZeros(word);
+                    double value = values[r];
+                    if (value == value) {
+                        sums[codes[r]] += value;
+                        counts[codes[r]]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class GroupTotals {
+        final String[] keys;
+        final double[] sums;
+        final long[] counts;
+
+        GroupTotals(String[] keys) {
+            this.keys = keys;
+            this.sums = new double[keys.length];
+            this.counts = new long[keys.length];
+        }
+
+        GroupTotals plus(GroupTotals other) {
+            GroupTotals total = new GroupTotals(keys);
+            for (int g = 0; g < keys.length; g++) {
+                total.sums[g] = sums[g] + other.sums[g];
+                total.counts[g] = counts[g] + other.counts[g];
+            }
+            return total;
+        }
+    }
+
+    // ========== PARALLEL ROW RANGES ==========
+
+    // Chunk numbers; parallel once there is more than one chunk
+    private IntStream chunks() {
+        int count = Math.max(1, (rowCount + CHUNK_ROWS - 1) / CHUNK_ROWS);
+        IntStream chunks = IntStream.range(0, count);
+        return count > 1 ? chunks.parallel() : chunks;
+    }
+
+    private static int chunkStart(int chunk) {
+        return chunk * CHUNK_ROWS;
+    }
+
+    private int chunkEnd(int chunk) {
+        return (int) Math.min(rowCount, (long) (chunk + 1) * CHUNK_ROWS);
+    }
+
+    // ========== STORAGE ==========
+
+    // Dictionary-encoded strings: values[row] is an index into dictionary
+    private static final class StringColumn {
+        final int[] values;
+        final List<String> dictionary = new ArrayList<>();
+        final Map<String, Integer> codes = new HashMap<>();
+
+        StringColumn(int rows) {
+            this.values = new int[rows];
+        }
+
+        void set(int row, CharSequence value) {
+            // Look up by String; a new String is only kept for a new distinct value
+            String key = value.toString();
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(key);
+                codes.put(key, code);
+            }
+            values[row] = code;
+        }
+    }
+
+    /**
+     * A set of rows as a bitmap: bit r of bits[r / 64] is set if row r is
+     * selected. Two filters combine with one AND per 64 rows.
+     */
+    static final class Selection {
+        private final long[] bits;
+        private final int rows;
+
+        private Selection(int rows) {
+            this.rows = rows;
+            this.bits = new long[(rows + 63) >>> 6];
+        }
+
+        Selection and(Selection other) {
+            Selection result = new Selection(rows);
+            for (int i = 0; i < bits.length; i++) {
+                result.bits[i] = bits[i] & other.bits[i];
+            }
+            return result;
+        }
+
+        Selection or(Selection other) {
+            Selection result = new Selection(rows);
+            for (int i = 0; i < bits.length; i++) {
+                result.bits[i] = bits[i] | other.bits[i];
+            }
+            return result;
+        }
+
+        int count() {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(rowCount + " rows\n");
+        for (int c = 0; c < names.size(); c++) {
+            description.append(String.format("  %-12s %-7s", names.get(c), types[c]));
+            if (columns[c] instanceof StringColumn strings) {
+                description.append("dictionary of ").append(strings.dictionary.size());
+            }
+            description.append('\n');
+        }
+        return description.toString().stripTrailing();
+    }
+}
+
+/*
+ * COLUMNAR TABLE QUICK REFERENCE:
+ *
+ * LOADING:
+ * ColumnarTable table = ColumnarTable.load(Path.of("employees.csv"));
+ * table.type("Salary");                          // LONG, DOUBLE or STRING
+ *
+ * FILTERS (bitmaps):
+ * Selection eng = table.whereEquals("Department", "Engineering");
+ * Selection young = table.whereBetween("Age", 0, 29);
+ * eng.and(young).count();
+ *
+ * AGGREGATES (parallel over 64K-row chunks):
+ * table.sum("Salary", table.all());
+ * table.average("Salary", eng);
+ * table.averageBy("Department", "Salary", table.all());   // sorted Map
+ *
+ * ROW VS COLUMN LAYOUT:
+ * List<String[]>  -> parse on every query, one object per row
+ * long[] / int[]  -> parse once, sequential primitive loops
+ *
+ * HOW TO RUN:
+ * javac ColumnarTable.java
+ * java ColumnarTable
+ */
@@ -0,0 +1,538 @@
+/**
+ * CompressedIO.java
+ *
+ * This program demonstrates reading and writing compressed text files
+ * through the same BufferedReader / BufferedWriter code used everywhere
+ * else. newReader() and newWriter() look at the file name: "app.log.gz" is
+ * gzip, "app.log.deflate" is zlib-wrapped deflate, anything else is plain
+ * text. Log archives can be scanned where they are, without inflating them
+ * to disk first.
+ *
+ * Two things make the compressed paths fast:
+ *
+ * Pipelined decompression - a GZIPInputStream inflates on the thread that
+ * calls read(), so parsing and inflating take turns. PipelinedInputStream
+ * runs the inflating on a background thread that fills 64 KB chunks ahead
+ * of the reader, so both happen at the same time on two cores.
+ *
+ * Parallel compression (the pigz approach) - deflate is the slow half of
+ * gzip. ParallelGzipOutputStream cuts the text into 128 KB blocks and
+ * deflates them on a thread pool. Each block is ended with a SYNC_FLUSH so
+ * the compressed pieces can simply be written one after another, and each
+ * block is primed with the last 32 KB of the block before it, so the
+ * compression ratio stays close to single-threaded gzip. The result is one
+ * ordinary gzip file that gunzip and GZIPInputStream read as usual.
+ *
+ * Key Concepts:
+ * - GZIPInputStream / GZIPOutputStream, Inflater / Deflater
+ * - Decorators: compression slots in under the Reader/Writer layer
+ * - Producer/consumer hand-off with a bounded BlockingQueue
+ * - Ordered parallel work with a queue of Futures
+ * - gzip format: header, raw deflate data, CRC-32 and length trailer
+ *
+ * Used by: ReadingFiles, WritingFiles (performance comparison)
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public class CompressedIO {
+
+    enum Format {
+        NONE, GZIP, DEFLATE;
+
+        // By file name: .gz, .deflate / .zz, or plain
+        static Format of(Path path) {
+            String name = path.getFileName().toString();
+            if (name.endsWith(".gz")) {
+                return GZIP;
+            }
+            if (name.endsWith(".deflate") || name.endsWith(".zz")) {
+                return DEFLATE;
+            }
+            return NONE;
+        }
+    }
+
+    static final int CHUNK_BYTES = 1 << 16;
+    static final int BLOCK_BYTES = 1 << 17;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== COMPRESSED I/O DEMONSTRATION ==========\n");
+
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path plain = Path.of("compressed_demo.log");
+        Path gzip = Path.of("compressed_demo.log.gz");
+        Path singleThreaded = Path.of("compressed_demo_single.log.gz");
+        try {
+
+            // ========== ROUND TRIP ==========
+
+            System.out.println("--- 1. Same Reader/Writer Code, Compressed File ---\n");
+
+            try (BufferedWriter writer = newWriter(gzip)) {
+                writer.write("first line");
+                writer.newLine();
+                writer.write("second line, café");
+                writer.newLine();
+            }
+            try (BufferedReader reader = newReader(gzip)) {
+                reader.lines().forEach(line -> System.out.println("  " + line));
+            }
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+                System.out.println("Plain GZIPInputStream reads it too: " + in.readAllBytes().length + " bytes");
+            }
+
+
+            // ========== WRITE THROUGHPUT ==========
+
+            System.out.println("\n\n--- 2. Writing " + lines + " Lines ---\n");
+
+            double megabytes = writeLines(plain, lines) / 1e6;
+            System.out.printf("Text size: %.1f MB, %d cores%n%n", megabytes, Runtime.getRuntime().availableProcessors());
+
+            report("BufferedWriter (plain)", megabytes, time(() -> writeLines(plain, lines)));
+            report("GZIPOutputStream", megabytes, time(() -> {
+                try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                        new GZIPOutputStream(Files.newOutputStream(singleThreaded), CHUNK_BYTES),
+                        StandardCharsets.UTF_8))) {
+                    writeLines(writer, lines);
+                }
+            }));
+            report("ParallelGzipOutputStream", megabytes, time(() -> writeLines(gzip, lines)));
+            System.out.printf("%nCompressed: single %.1f MB, parallel %.1f MB%n",
+                Files.size(singleThreaded) / 1e6, Files.size(gzip) / 1e6);
+
+
+            // ========== READ THROUGHPUT ==========
+
+            System.out.println("\n\n--- 3. Reading " + lines + " Lines ---\n");
+
+            report("BufferedReader (plain)", megabytes, time(() -> countLines(Files.newBufferedReader(plain))));
+            report("GZIPInputStream", megabytes, time(() -> countLines(new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(gzip), CHUNK_BYTES), StandardCharsets.UTF_8)))));
+            report("Pipelined GZIPInputStream", megabytes, time(() -> countLines(newReader(gzip))));
+
+        } catch (IOException e) {
+            System.err.println("Error in compressed I/O: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(plain);
+                Files.deleteIfExists(gzip);
+                Files.deleteIfExists(singleThreaded);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== READER / WRITER FACTORIES ==========
+
+    static BufferedReader newReader(Path path) throws IOException {
+        return newReader(path, StandardCharsets.UTF_8);
+    }
+
+    // Decompresses according to Format.of(path); gzip and deflate inflate on a background thread
+    static BufferedReader newReader(Path path, Charset charset) throws IOException {
+        return new BufferedReader(new InputStreamReader(newInputStream(path), charset));
+    }
+
+    static InputStream newInputStream(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        try {
+            return switch (Format.of(path)) {
+                case NONE -> in;
+                case GZIP -> new PipelinedInputStream(new GZIPInputStream(in, CHUNK_BYTES));
+                case DEFLATE -> new PipelinedInputStream(
+                    new InflaterInputStream(new BufferedInputStream(in, CHUNK_BYTES)));
+            };
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    static BufferedWriter newWriter(Path path) throws IOException {
+        return newWriter(path, StandardCharsets.UTF_8);
+    }
+
+    // Compresses according to Format.of(path); gzip is compressed in parallel blocks
+    static BufferedWriter newWriter(Path path, Charset charset) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(newOutputStream(path), charset));
+    }
+
+    static OutputStream newOutputStream(Path path) throws IOException {
+        OutputStream out = Files.newOutputStream(path);
+        return switch (Format.of(path)) {
+            case NONE -> out;
+            case GZIP -> new ParallelGzipOutputStream(out, Deflater.DEFAULT_COMPRESSION,
+                Runtime.getRuntime().availableProcessors());
+            // The default Deflater writes 512-byte pieces, so buffer what it writes
+            case DEFLATE -> new DeflaterOutputStream(new BufferedOutputStream(out, CHUNK_BYTES));
+        };
+    }
+
+    // Copies source to target, compressing or decompressing as their names say
+    static void copy(Path source, Path target) throws IOException {
+        try (InputStream in = newInputStream(source); OutputStream out = newOutputStream(target)) {
+            in.transferTo(out);
+        }
+    }
+
+    // ========== PIPELINED DECOMPRESSION ==========
+
+    /**
+     * Reads source on a background thread into a bounded queue of chunks.
+     * The reader takes chunks while the next ones are being inflated. An
+     * exception in the background thread is rethrown by read().
+     */
+    static final class PipelinedInputStream extends InputStream {
+        private static final byte[] END = new byte[0];
+        private static final int CHUNKS_AHEAD = 4;
+
+        private final InputStream source;
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(CHUNKS_AHEAD);
+        private final Thread producer;
+        private volatile IOException failure;
+        private byte[] chunk = new byte[0];
+        private int position;
+        private boolean closed;
+
+        PipelinedInputStream(InputStream source) {
+            this.source = source;
+            this.producer = new Thread(this::produce, "pipelined-inflate");
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        private void produce() {
+            try (source) {
+                while (true) {
+                    byte[] buffer = source.readNBytes(CHUNK_BYTES);
+                    if (buffer.length == 0) {
+                        break;
+                    }
+                    chunks.put(buffer);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                // close() stopped us
+                return;
+            } catch (Throwable e) {
+                // Anything else must reach the reader too, or it would wait for END forever
+                failure = new IOException("Decompression failed", e);
+            }
+            try {
+                chunks.put(END);
+            } catch (InterruptedException e) {
+                // close() stopped us
+            }
+        }
+
+        // False at the end of the data
+        private boolean fill() throws IOException {
+            if (chunk == END) {
+                // Keep reporting a failure rather than looking like a clean end
+                if (failure != null) {
+                    throw failure;
+                }
+                return false;
+            }
+            if (position < chunk.length) {
+                return true;
+            }
+            try {
+                chunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+            }
+            position = 0;
+            if (chunk == END && failure != null) {
+                throw failure;
+            }
+            return chunk != END;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? chunk[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            chunk = END;
+            producer.interrupt();
+            try {
+                producer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ========== PARALLEL GZIP ==========
+
+    /**
+     * Writes one gzip member whose deflate data is produced block by block
+     * on a thread pool. Compressed blocks are written in order; at most two
+     * blocks per thread are in flight, which bounds memory. flush() only
+     * writes blocks that are already complete.
+     */
+    static final class ParallelGzipOutputStream extends OutputStream {
+        private static final int DICTIONARY_BYTES = 32 * 1024;
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+        private final OutputStream out;
+        private final int level;
+        private final ExecutorService pool;
+        private final int maxPending;
+        private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        private final CRC32 crc = new CRC32();
+        private byte[] block = new byte[BLOCK_BYTES];
+        private int count;
+        private byte[] previous;
+        private long length;
+        private boolean closed;
+
+        ParallelGzipOutputStream(OutputStream out, int level, int threads) throws IOException {
+            this.out = out;
+            this.level = level;
+            this.pool = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "parallel-gzip");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.maxPending = 2 * threads;
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, block.length - count);
+                System.arraycopy(b, off, block, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == block.length) {
+                    submit(false);
+                }
+            }
+        }
+
+        private void submit(boolean last) throws IOException {
+            byte[] input = count == block.length ? block : Arrays.copyOf(block, count);
+            byte[] dictionary = previous;
+            crc.update(input);
+            length += input.length;
+            pending.add(pool.submit(() -> deflate(input, dictionary, last)));
+            previous = input;
+            block = new byte[BLOCK_BYTES];
+            count = 0;
+            while (pending.size() > maxPending) {
+                writeNext();
+            }
+        }
+
+        // Raw deflate of one block, primed with the end of the previous block
+        private byte[] deflate(byte[] input, byte[] dictionary, boolean last) {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                if (dictionary != null) {
+                    int size = Math.min(DICTIONARY_BYTES, dictionary.length);
+                    deflater.setDictionary(dictionary, dictionary.length - size, size);
+                }
+                deflater.setInput(input);
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 2 + 64);
+                byte[] buffer = new byte[CHUNK_BYTES];
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        compressed.write(buffer, 0, deflater.deflate(buffer));
+                    }
+                } else {
+                    // SYNC_FLUSH ends on a byte boundary without marking the stream final
+                    int n;
+                    do {
+                        n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                        compressed.write(buffer, 0, n);
+                    } while (n == buffer.length);
+                }
+                return compressed.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        private void writeNext() throws IOException {
+            try {
+                out.write(pending.removeFirst().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing");
+            } catch (ExecutionException e) {
+                throw new IOException("Compression failed", e.getCause());
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+                writeNext();
+            }
+            out.flush();
+        }
+
+        // Compresses the last block, writes the CRC-32 and length trailer, closes out
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                submit(true);
+                while (!pending.isEmpty()) {
+                    writeNext();
+                }
+                writeIntLE((int) crc.getValue());
+                writeIntLE((int) length);
+            } finally {
+                pool.shutdownNow();
+                out.close();
+            }
+        }
+
+        private void writeIntLE(int value) throws IOException {
+            out.write(new byte[] {(byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)});
+        }
+    }
+
+    // ========== BENCHMARK HELPERS ==========
+
+    interface IOTask {
+        void run() throws IOException;
+    }
+
+    // Best of three runs after one warmup, in milliseconds
+    private static double time(IOTask task) throws IOException {
+        task.run();
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static void report(String label, double megabytes, double millis) {
+        System.out.printf("%-28s %8.1f ms %8.1f MB/s%n", label, millis, megabytes / (millis / 1000));
+    }
+
+    // Same lines as WritingFiles.writeWithBufferedWriter(); returns the file size
+    private static long writeLines(Path path, int lines) throws IOException {
+        try (BufferedWriter writer = newWriter(path)) {
+            writeLines(writer, lines);
+        }
+        return Files.size(path);
+    }
+
+    private static void writeLines(BufferedWriter writer, int lines) throws IOException {
+        for (int i = 0; i < lines; i++) {
+            writer.write("Line " + i + ": the quick brown fox jumps over the lazy dog");
+            writer.newLine();
+        }
+    }
+
+    private static void countLines(BufferedReader reader) throws IOException {
+        try (reader) {
+            while (reader.readLine() != null) {
+                // Just read, don't process
+            }
+        }
+    }
+}
+
+/*
+ * COMPRESSED I/O QUICK REFERENCE:
+ *
+ * READ / WRITE BY FILE NAME:
+ * try (BufferedReader in = CompressedIO.newReader(Path.of("app.log.gz"))) { ... }
+ * try (BufferedWriter out = CompressedIO.newWriter(Path.of("app.log.gz"))) { ... }
+ * CompressedIO.copy(Path.of("app.log"), Path.of("app.log.gz"));    // compress
+ *
+ * FORMATS:
+ * .gz              gzip, parallel blocks on write, pipelined on read
+ * .deflate / .zz   zlib deflate, pipelined on read
+ * anything else    plain
+ *
+ * PLAIN JDK (single-threaded):
+ * new GZIPOutputStream(out, 65536);      // set the buffer, the default is 512 bytes
+ * new GZIPInputStream(in, 65536);
+ *
+ * PIGZ IDEA:
+ * split into blocks -> deflate in parallel (SYNC_FLUSH, 32 KB dictionary
+ * from the previous block) -> concatenate in order -> one CRC-32 trailer
+ *
+ * HOW TO RUN:
+ * javac CompressedIO.java
+ * java CompressedIO [lines]
+ */
@@ -0,0 +1,536 @@
+/**
+ * FileIOBenchmark.java
+ *
+ * A benchmark harness for the file reading and writing strategies shown in
+ * ReadingFiles and WritingFiles. Their performance sections time a single
+ * run with System.nanoTime(): the first run includes JIT compilation, the
+ * file may or may not be in the page cache, and one unlucky GC pause
+ * decides the winner. This harness measures every strategy the same way:
+ *
+ * - warmup runs first, then the median of several measured runs
+ * - throughput in MB/s of file data, not just milliseconds
+ * - bytes allocated per run by the measuring thread (ThreadMXBean) and the
+ *   number of GCs, because an I/O path that allocates 3x the file size
+ *   costs GC time in a real application even if it wins here
+ * - the same parameters for every strategy: file size, line length,
+ *   charset and buffer size
+ * - optionally a cold page cache before every run (cache=cold, Linux and
+ *   root only; otherwise the run says it is measuring a warm cache)
+ *
+ * It is not JMH: there is no forking, so run one configuration per JVM if
+ * strategies seem to influence each other's JIT profile.
+ *
+ * Key Concepts:
+ * - Warmup and median of repeated runs
+ * - Allocation measurement with com.sun.management.ThreadMXBean
+ * - Decoding and encoding with CharsetDecoder / CharsetEncoder directly
+ * - FileChannel with direct buffers and MappedByteBuffer variants
+ *
+ * Used by: ReadingFiles, WritingFiles (performance comparison)
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class FileIOBenchmark {
+
+    private static final int DEFAULT_WARMUPS = 3;
+    private static final int DEFAULT_RUNS = 5;
+    private static final int MAP_WINDOW_BYTES = 1 << 26;
+    private static final int TEMPLATE_LINES = 64;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Results are folded into this field so the measured work is never dead code
+    static volatile long sink;
+
+    private static boolean coldCache;
+    private static boolean coldCacheWarned;
+
+    record Result(String label, long bytes, long medianNanos, long minNanos, long maxNanos,
+                  long allocatedPerRun, long gcCount) {
+        double megabytesPerSecond() {
+            return bytes / 1e6 / (medianNanos / 1e9);
+        }
+    }
+
+    interface IOTask {
+        void run() throws IOException;
+    }
+
+    // One benchmark configuration; lines are cycled from TEMPLATE_LINES templates
+    record Setup(long fileBytes, int lineLength, Charset charset) {
+        long lineCount() {
+            return Math.max(1, fileBytes / (lineLength + 1));
+        }
+
+        String[] templates() {
+            boolean accents = charset.newEncoder().canEncode('é');
+            String[] lines = new String[TEMPLATE_LINES];
+            for (int t = 0; t < lines.length; t++) {
+                StringBuilder line = new StringBuilder(lineLength);
+                for (int i = 0; line.length() < lineLength; i++) {
+                    line.append(accents && i % 40 == 39 ? 'é' : (char) ('a' + (i * 7 + t) % 26));
+                }
+                lines[t] = line.toString();
+            }
+            return lines;
+        }
+
+        Iterable<String> lines() {
+            String[] templates = templates();
+            long count = lineCount();
+            return () -> new Iterator<>() {
+                private long next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                @Override
+                public String next() {
+                    return templates[(int) (next++ % templates.length)];
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d MB, line=%d chars, charset=%s", fileBytes >> 20, lineLength, charset);
+        }
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println("========== FILE I/O BENCHMARK ==========\n");
+
+        Map<String, String> options = parseOptions(args);
+        List<Long> sizes = longList(options, "size", "16");
+        List<Long> lineLengths = longList(options, "line", "40,200");
+        List<Long> buffers = longList(options, "buffer", "8192,65536");
+        String[] charsets = options.getOrDefault("charset", "UTF-8,UTF-16LE").split(",");
+        int warmups = Integer.parseInt(options.getOrDefault("warmups", String.valueOf(DEFAULT_WARMUPS)));
+        int runs = Integer.parseInt(options.getOrDefault("runs", String.valueOf(DEFAULT_RUNS)));
+        coldCache = "cold".equals(options.get("cache"));
+
+        System.out.println("--- 1. Parameters ---\n");
+        System.out.println("Sizes (MB):    " + sizes);
+        System.out.println("Line lengths:  " + lineLengths);
+        System.out.println("Charsets:      " + Arrays.toString(charsets));
+        System.out.println("Buffer sizes:  " + buffers);
+        System.out.println("Runs:          " + warmups + " warmups, median of " + runs);
+        System.out.println("Page cache:    " + (coldCache ? "dropped before every run" : "warm"));
+        System.out.println("\nOptions: size=16,256 line=40,200 charset=UTF-8,ISO-8859-1 buffer=8192,65536"
+            + " warmups=3 runs=5 cache=warm|cold");
+
+        Path file = Path.of("benchmark_input.txt");
+        Path output = Path.of("benchmark_output.txt");
+        try {
+            System.out.println("\n\n--- 2. Read Strategies ---");
+            for (long size : sizes) {
+                for (long lineLength : lineLengths) {
+                    for (String charset : charsets) {
+                        Setup setup = new Setup(size << 20, (int) lineLength, Charset.forName(charset));
+                        writeBuffered(file, setup, 1 << 16);
+                        System.out.println("\n" + setup);
+                        benchmarkReads(file, setup, buffers, warmups, runs);
+                    }
+                }
+            }
+
+            System.out.println("\n\n--- 3. Write Strategies ---");
+            for (long size : sizes) {
+                for (long lineLength : lineLengths) {
+                    for (String charset : charsets) {
+                        Setup setup = new Setup(size << 20, (int) lineLength, Charset.forName(charset));
+                        System.out.println("\n" + setup);
+                        benchmarkWrites(output, setup, buffers, warmups, runs);
+                    }
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(output);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF BENCHMARK ==========");
+    }
+
+    // ========== HARNESS ==========
+
+    // Warms up, measures and prints task; bytes is the amount of file data one run handles
+    static Result measure(String label, long bytes, IOTask task) throws IOException {
+        return measure(label, bytes, DEFAULT_WARMUPS, DEFAULT_RUNS, task);
+    }
+
+    static Result measure(String label, long bytes, int warmups, int runs, IOTask task) throws IOException {
+        for (int i = 0; i < warmups; i++) {
+            task.run();
+        }
+        long[] times = new long[runs];
+        long allocated = 0;
+        long gcBefore = gcCount();
+        for (int i = 0; i < runs; i++) {
+            if (coldCache) {
+                dropPageCache();
+            }
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+            allocated += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(times);
+        Result result = new Result(label, bytes, times[runs / 2], times[0], times[runs - 1],
+            allocated / runs, gcCount() - gcBefore);
+        print(result);
+        return result;
+    }
+
+    static void print(Result result) {
+        System.out.printf("  %-36s %9.2f ms %8.1f MB/s  alloc %8.1f MB/run  gc %3d  (min %.2f, max %.2f)%n",
+            result.label(), result.medianNanos() / 1e6, result.megabytesPerSecond(),
+            result.allocatedPerRun() / 1e6, result.gcCount(), result.minNanos() / 1e6, result.maxNanos() / 1e6);
+    }
+
+    static void consume(long value) {
+        sink += value;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    // Linux only, and only as root: sync, then ask the kernel to drop clean cached pages
+    private static void dropPageCache() {
+        try {
+            new ProcessBuilder("sync").start().waitFor();
+            Files.writeString(Path.of("/proc/sys/vm/drop_caches"), "1");
+        } catch (IOException | RuntimeException e) {
+            if (!coldCacheWarned) {
+                coldCacheWarned = true;
+                System.out.println("  (cannot drop the page cache here: " + e.getMessage() + "; measuring warm cache)");
+            }
+            coldCache = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== READ STRATEGIES ==========
+
+    private static void benchmarkReads(Path file, Setup setup, List<Long> buffers, int warmups, int runs)
+            throws IOException {
+        long bytes = Files.size(file);
+        Charset charset = setup.charset();
+        long expected = setup.lineCount();
+        for (long buffer : buffers) {
+            int size = (int) buffer;
+            measure("BufferedReader buffer=" + size, bytes, warmups, runs,
+                () -> check(expected, readBuffered(file, charset, size)));
+            measure("FileChannel+decoder buffer=" + size, bytes, warmups, runs,
+                () -> check(expected, readChannel(file, charset, size)));
+        }
+        measure("Files.readAllLines", bytes, warmups, runs,
+            () -> check(expected, Files.readAllLines(file, charset).size()));
+        measure("Files.lines", bytes, warmups, runs,
+            () -> check(expected, countStream(file, charset)));
+        measure("Mapped+decoder", bytes, warmups, runs,
+            () -> check(expected, readMappedDecoded(file, charset)));
+        if ("\n".getBytes(charset).length == 1) {
+            // Only when '\n' is the single byte 0x0A: counts lines without decoding
+            measure("Mapped bytes (no decoding)", bytes, warmups, runs,
+                () -> check(expected, readMappedBytes(file)));
+        }
+    }
+
+    private static void check(long expected, long lines) throws IOException {
+        if (lines != expected) {
+            throw new IOException("Read " + lines + " lines, expected " + expected);
+        }
+        consume(lines);
+    }
+
+    private static long readBuffered(Path file, Charset charset, int bufferSize) throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), charset), bufferSize)) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static long countStream(Path file, Charset charset) throws IOException {
+        try (Stream<String> lines = Files.lines(file, charset)) {
+            return lines.count();
+        }
+    }
+
+    // Reads into a direct buffer and decodes into a reused CharBuffer; no Strings
+    private static long readChannel(Path file, Charset charset, int bufferSize) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder();
+        ByteBuffer bytes = ByteBuffer.allocateDirect(bufferSize);
+        CharBuffer chars = CharBuffer.allocate(bufferSize);
+        long lines = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            boolean end = false;
+            while (!end) {
+                end = channel.read(bytes) < 0;
+                bytes.flip();
+                lines += decode(decoder, bytes, chars, end);
+                bytes.compact();
+            }
+        }
+        return lines;
+    }
+
+    private static long readMappedDecoded(Path file, Charset charset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = map(channel);
+            return decode(charset.newDecoder(), bytes, CharBuffer.allocate(1 << 16), true);
+        }
+    }
+
+    private static long readMappedBytes(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = map(channel);
+            long lines = 0;
+            for (int i = 0, limit = bytes.limit(); i < limit; i++) {
+                if (bytes.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            return lines;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Mapped strategies map the whole file and need files under 2 GB");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    // Decodes as much of bytes as possible, counting '\n'; leftover partial characters stay in bytes
+    private static long decode(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, boolean end)
+            throws IOException {
+        long lines = 0;
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, end);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (end && result.isUnderflow()) {
+                decoder.flush(chars);
+            }
+            chars.flip();
+            for (int i = 0, limit = chars.limit(); i < limit; i++) {
+                if (chars.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            chars.clear();
+            if (result.isUnderflow()) {
+                if (end) {
+                    decoder.reset();
+                }
+                return lines;
+            }
+        }
+    }
+
+    // ========== WRITE STRATEGIES ==========
+
+    private static void benchmarkWrites(Path file, Setup setup, List<Long> buffers, int warmups, int runs)
+            throws IOException {
+        // The encoded size, for MB/s
+        writeBuffered(file, setup, 1 << 16);
+        long bytes = Files.size(file);
+        measure("FileWriter", bytes, warmups, runs, () -> writeFileWriter(file, setup));
+        for (long buffer : buffers) {
+            int size = (int) buffer;
+            measure("BufferedWriter buffer=" + size, bytes, warmups, runs, () -> writeBuffered(file, setup, size));
+            measure("FileChannel+encoder buffer=" + size, bytes, warmups, runs, () -> writeChannel(file, setup, size));
+        }
+        measure("Files.write", bytes, warmups, runs, () -> Files.write(file, setup.lines(), setup.charset()));
+        measure("Mapped+encoder", bytes, warmups, runs, () -> writeMapped(file, setup));
+    }
+
+    // FileWriter encodes through its own small buffer; one write() call per line
+    private static void writeFileWriter(Path file, Setup setup) throws IOException {
+        try (FileWriter writer = new FileWriter(file.toFile(), setup.charset())) {
+            for (String line : setup.lines()) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static void writeBuffered(Path file, Setup setup, int bufferSize) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file), setup.charset()), bufferSize)) {
+            for (String line : setup.lines()) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    // Encodes straight into a direct buffer and writes it when full
+    private static void writeChannel(Path file, Setup setup, int bufferSize) throws IOException {
+        CharsetEncoder encoder = setup.charset().newEncoder();
+        ByteBuffer bytes = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CharBuffer chars = CharBuffer.allocate(setup.lineLength() + 1);
+            for (String line : setup.lines()) {
+                encode(encoder, withNewline(chars, line), bytes, channel);
+            }
+            encoder.encode(CharBuffer.allocate(0), bytes, true);
+            encoder.flush(bytes);
+            drain(bytes, channel);
+        }
+    }
+
+    private static void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer bytes, FileChannel channel)
+            throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, false);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isUnderflow()) {
+                return;
+            }
+            drain(bytes, channel);
+        }
+    }
+
+    // Copies line and '\n' into a reused buffer, ready to encode; wrapping each line would allocate
+    private static CharBuffer withNewline(CharBuffer chars, String line) {
+        chars.clear();
+        chars.put(line).put('\n');
+        return chars.flip();
+    }
+
+    private static void drain(ByteBuffer bytes, FileChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    // Encodes into 64 MB mapped windows, mapping the next one when a window is full
+    private static void writeMapped(Path file, Setup setup) throws IOException {
+        CharsetEncoder encoder = setup.charset().newEncoder();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long windowStart = 0;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, 0, MAP_WINDOW_BYTES);
+            CharBuffer chars = CharBuffer.allocate(setup.lineLength() + 1);
+            for (String line : setup.lines()) {
+                withNewline(chars, line);
+                while (encoder.encode(chars, window, false).isOverflow()) {
+                    windowStart += window.position();
+                    window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, MAP_WINDOW_BYTES);
+                }
+            }
+            encoder.encode(CharBuffer.allocate(0), window, true);
+            encoder.flush(window);
+            // The last window extends past the data; cut the file back
+            channel.truncate(windowStart + window.position());
+        }
+    }
+
+    // ========== OPTIONS ==========
+
+    // key=value arguments
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static List<Long> longList(Map<String, String> options, String key, String defaultValue) {
+        List<Long> values = new ArrayList<>();
+        for (String value : options.getOrDefault(key, defaultValue).split(",")) {
+            values.add(Long.parseLong(value.trim()));
+        }
+        return values;
+    }
+}
+
+/*
+ * FILE I/O BENCHMARK QUICK REFERENCE:
+ *
+ * RUN:
+ * java FileIOBenchmark
+ * java FileIOBenchmark size=256 line=80 charset=UTF-8 buffer=4096,65536,1048576
+ * sudo java FileIOBenchmark cache=cold      // drop the page cache before each run
+ *
+ * USE THE HARNESS:
+ * FileIOBenchmark.measure("my strategy", bytesPerRun, () -> readSomehow(path));
+ *
+ * READING THE OUTPUT:
+ * ms      median of the measured runs
+ * MB/s    file bytes / median time
+ * alloc   bytes allocated by the measuring thread per run
+ * gc      collections during the measured runs
+ *
+ * TIPS:
+ * - Run with a fixed heap (-Xms/-Xmx) so GC counts are comparable
+ * - Warm-cache numbers measure decoding and copying, cold-cache numbers
+ *   measure the disk; decide which one your application sees
+ * - For publishable numbers use JMH with -prof gc
+ *
+ * HOW TO RUN:
+ * javac FileIOBenchmark.java
+ * java FileIOBenchmark [key=value ...]
+ */
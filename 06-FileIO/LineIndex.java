@@ -0,0 +1,487 @@
+/**
+ * LineIndex.java
+ *
+ * This program demonstrates random access to the lines of a large text
+ * file. Without an index, reaching line N means reading every byte before
+ * it, because lines have no fixed length. LineIndex scans the file once and
+ * keeps where each line ends in a small sidecar file next to it
+ * ("app.log" -> "app.log.idx"). After that, "lines N to N+50" costs two
+ * index lookups and one mapping of just those lines.
+ *
+ * The sidecar is made of 4 KB blocks. A block stores the number and end
+ * offset of its first line, followed by the lengths of the next lines as
+ * varints (7 bits per byte). Typical lines are under 128 bytes, so one line
+ * costs about one byte instead of the eight a long[] would need. Finding a
+ * line is a binary search over the block headers plus decoding one block.
+ *
+ * Log files only grow, so update() continues scanning from where the last
+ * scan stopped and appends to the last block. If the file was truncated or
+ * replaced (it got shorter, or the last indexed line no longer ends in '\n')
+ * the index is rebuilt from scratch.
+ *
+ * Sidecar layout:
+ *   header  int magic, int version, long indexedBytes, long lineCount, long lastLineEnd
+ *   block   long firstLine, long firstLineEnd, int lineCount, varint lengths..., zero padding
+ *
+ * Key Concepts:
+ * - Sidecar index files and incremental maintenance
+ * - Delta encoding with varints
+ * - Fixed-size blocks: binary search without loading the whole index
+ * - FileChannel.map() of only the requested byte range
+ * - Writing data before the header, so a crash never leaves a header that
+ *   points past the blocks
+ *
+ * Used by: ReadingFiles (reading large files)
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class LineIndex implements Closeable {
+
+    static final int BLOCK_BYTES = 4096;
+
+    private static final int MAGIC = 0x4C494458; // "LIDX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int BLOCK_HEADER_BYTES = 20;
+    private static final int SCAN_BYTES = 1 << 16;
+
+    private final Path file;
+    private final FileChannel data;
+    private final FileChannel sidecar;
+
+    // Bytes of the file scanned so far, complete lines among them, and where the last one ends
+    private long indexedBytes;
+    private long lineCount;
+    private long lastLineEnd;
+
+    // The last block, kept in memory while lines are appended to it
+    private final ByteBuffer tail = ByteBuffer.allocate(BLOCK_BYTES);
+    private long tailBlock;
+    private int tailLines;
+
+    // Reused for reading other blocks
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES);
+
+    public static void main(String[] args) {
+
+        System.out.println("========== LINE INDEX DEMONSTRATION ==========\n");
+
+        Path file = Path.of("indexed_sample.log");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 1_000_000; i++) {
+                content.append("line ").append(i).append(i % 10 == 0 ? " with a longer message attached" : "")
+                    .append('\n');
+            }
+            Files.writeString(file, content);
+
+
+            // ========== BUILDING ==========
+
+            System.out.println("--- 1. Building the Sidecar ---\n");
+
+            long start = System.currentTimeMillis();
+            try (LineIndex index = open(file)) {
+                System.out.println("Indexed " + index.lineCount() + " lines in "
+                    + (System.currentTimeMillis() - start) + "ms");
+                System.out.println("File size:    " + Files.size(file) / 1024 + " KB");
+                System.out.println("Sidecar size: " + Files.size(sidecarFor(file)) / 1024 + " KB"
+                    + " (a long[] of offsets: " + index.lineCount() * 8 / 1024 + " KB)");
+
+
+                // ========== RANDOM ACCESS ==========
+
+                System.out.println("\n\n--- 2. Reading Lines N..M ---\n");
+
+                start = System.nanoTime();
+                List<String> page = index.readLines(900_000, 3);
+                System.out.printf("Lines 900000-900002 via index in %.2fms:%n", (System.nanoTime() - start) / 1e6);
+                page.forEach(line -> System.out.println("  " + line));
+
+                start = System.nanoTime();
+                try (Stream<String> lines = Files.lines(file)) {
+                    String line = lines.skip(900_000).findFirst().orElse("");
+                    System.out.printf("Line 900000 via Files.lines().skip() in %.2fms: %s%n",
+                        (System.nanoTime() - start) / 1e6, line);
+                }
+            }
+
+
+            // ========== INCREMENTAL UPDATE ==========
+
+            System.out.println("\n\n--- 3. Appending to the File ---\n");
+
+            Files.writeString(file, "appended line one\nappended line two\nhalf a li", StandardOpenOption.APPEND);
+            try (LineIndex index = open(file)) {
+                // open() found the existing sidecar and only scanned the new bytes
+                System.out.println("Lines now: " + index.lineCount() + " (the unfinished line counts too)");
+                System.out.println("Last 3:    " + index.readLines(index.lineCount() - 3, 3));
+
+                Files.writeString(file, "ne, finished\n", StandardOpenOption.APPEND);
+                System.out.println("\nupdate() scanned " + index.update() + " new bytes");
+                System.out.println("Last line: " + index.readLines(index.lineCount() - 1, 1));
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error indexing file: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(sidecarFor(file));
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== OPENING ==========
+
+    static Path sidecarFor(Path file) {
+        return file.resolveSibling(file.getFileName() + ".idx");
+    }
+
+    /**
+     * Opens the index of file, creating or bringing its sidecar up to date.
+     * Not thread-safe; use one LineIndex per thread or synchronize.
+     */
+    static LineIndex open(Path file) throws IOException {
+        FileChannel data = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            FileChannel sidecar = FileChannel.open(sidecarFor(file),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            try {
+                LineIndex index = new LineIndex(file, data, sidecar);
+                index.update();
+                return index;
+            } catch (IOException | RuntimeException e) {
+                sidecar.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    private LineIndex(Path file, FileChannel data, FileChannel sidecar) throws IOException {
+        this.file = file;
+        this.data = data;
+        this.sidecar = sidecar;
+        if (!load()) {
+            reset();
+        }
+    }
+
+    // Reads header and last block; false if the sidecar is missing, foreign or inconsistent
+    private boolean load() throws IOException {
+        long size = sidecar.size();
+        if (size < HEADER_BYTES || (size - HEADER_BYTES) % BLOCK_BYTES != 0) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(sidecar, header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            return false;
+        }
+        indexedBytes = header.getLong(8);
+        lineCount = header.getLong(16);
+        lastLineEnd = header.getLong(24);
+
+        long blocks = (size - HEADER_BYTES) / BLOCK_BYTES;
+        tail.clear();
+        if (blocks == 0) {
+            tailBlock = 0;
+            tailLines = 0;
+            return lineCount == 0;
+        }
+        tailBlock = blocks - 1;
+        readFully(sidecar, tail, blockPosition(tailBlock));
+        tailLines = tail.getInt(16);
+        // Blocks written after the header by an interrupted update() do not count
+        if (tail.getLong(0) + tailLines != lineCount) {
+            return false;
+        }
+        tail.position(BLOCK_HEADER_BYTES);
+        for (int i = 1; i < tailLines; i++) {
+            readVarint(tail);
+        }
+        return true;
+    }
+
+    private void reset() throws IOException {
+        sidecar.truncate(0);
+        indexedBytes = 0;
+        lineCount = 0;
+        lastLineEnd = 0;
+        tail.clear();
+        tailBlock = 0;
+        tailLines = 0;
+        writeHeader();
+    }
+
+    // ========== INDEXING ==========
+
+    /**
+     * Indexes bytes appended since the last scan and returns how many were
+     * scanned. A truncated or replaced file is indexed again from the start.
+     */
+    long update() throws IOException {
+        long size = data.size();
+        if (replaced(size)) {
+            reset();
+        }
+        long scanned = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        byte[] bytes = buffer.array();
+        while (indexedBytes < size) {
+            buffer.clear();
+            int read = data.read(buffer, indexedBytes);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    addLineEnd(indexedBytes + i + 1);
+                }
+            }
+            indexedBytes += read;
+            scanned += read;
+        }
+        if (scanned > 0) {
+            writeTail();
+            writeHeader();
+        }
+        return scanned;
+    }
+
+    // A cheap check, not a proof: a rotated file that has already grown past
+    // the old size rarely has '\n' exactly where the last indexed line ended
+    private boolean replaced(long size) throws IOException {
+        if (size < indexedBytes) {
+            return true;
+        }
+        if (lastLineEnd == 0) {
+            return false;
+        }
+        ByteBuffer lastByte = ByteBuffer.allocate(1);
+        readFully(data, lastByte, lastLineEnd - 1);
+        return lastByte.get(0) != '\n';
+    }
+
+    // Records that a line ends just before end (end is the offset after its '\n')
+    private void addLineEnd(long end) throws IOException {
+        long length = end - lastLineEnd;
+        if (tailLines > 0 && tail.position() + varintSize(length) > BLOCK_BYTES) {
+            writeTail();
+            tailBlock++;
+            tailLines = 0;
+        }
+        if (tailLines == 0) {
+            Arrays.fill(tail.array(), (byte) 0);
+            tail.clear();
+            tail.putLong(lineCount).putLong(end).putInt(0);
+        } else {
+            writeVarint(tail, length);
+        }
+        tail.putInt(16, ++tailLines);
+        lineCount++;
+        lastLineEnd = end;
+    }
+
+    private void writeTail() throws IOException {
+        if (tailLines > 0) {
+            writeFully(sidecar, tail.duplicate().clear(), blockPosition(tailBlock));
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC).putInt(VERSION).putLong(indexedBytes).putLong(lineCount).putLong(lastLineEnd)
+            .flip();
+        writeFully(sidecar, header, 0);
+    }
+
+    // ========== LOOKUP ==========
+
+    // Lines in the indexed part of the file; a last line without '\n' counts
+    long lineCount() {
+        return lineCount + (indexedBytes > lastLineEnd ? 1 : 0);
+    }
+
+    // Byte offset at which line starts (0-based)
+    long lineStart(long line) throws IOException {
+        checkLine(line);
+        return line == 0 ? 0 : lineEnd(line - 1);
+    }
+
+    // Offset just after the '\n' of a complete line, or the indexed size for the unfinished last line
+    private long lineEnd(long line) throws IOException {
+        if (line >= lineCount) {
+            return indexedBytes;
+        }
+        ByteBuffer holder;
+        if (tailLines > 0 && line >= tail.getLong(0)) {
+            holder = tail;
+        } else {
+            readFully(sidecar, block.clear(), blockPosition(findBlock(line)));
+            holder = block;
+        }
+        long end = holder.getLong(8);
+        ByteBuffer lengths = holder.duplicate().position(BLOCK_HEADER_BYTES);
+        for (long l = holder.getLong(0); l < line; l++) {
+            end += readVarint(lengths);
+        }
+        return end;
+    }
+
+    // The last block before the tail whose first line is at or before line
+    private long findBlock(long line) throws IOException {
+        ByteBuffer firstLine = ByteBuffer.allocate(Long.BYTES);
+        long low = 0;
+        long high = tailBlock - 1;
+        while (low < high) {
+            long middle = (low + high + 1) >>> 1;
+            readFully(sidecar, firstLine.clear(), blockPosition(middle));
+            if (firstLine.getLong(0) <= line) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Lines first .. first + count - 1 (0-based; fewer at the end of the
+     * file). Only their bytes are mapped and decoded as UTF-8.
+     */
+    List<String> readLines(long first, int count) throws IOException {
+        checkLine(first);
+        long last = Math.min(first + count, lineCount()) - 1;
+        List<String> lines = new ArrayList<>();
+        if (last < first) {
+            return lines;
+        }
+        long from = lineStart(first);
+        long to = lineEnd(last);
+        if (to - from > Integer.MAX_VALUE) {
+            throw new IOException("Lines " + first + " to " + last + " of " + file + " span more than 2 GB");
+        }
+        MappedByteBuffer bytes = data.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int lineStart = 0;
+        for (int i = 0; i < bytes.limit(); i++) {
+            if (bytes.get(i) == '\n') {
+                lines.add(MappedFileScanner.decodeLine(bytes, lineStart, i));
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < bytes.limit()) {
+            lines.add(MappedFileScanner.decodeLine(bytes, lineStart, bytes.limit()));
+        }
+        return lines;
+    }
+
+    private void checkLine(long line) {
+        if (line < 0 || line > lineCount()) {
+            throw new IndexOutOfBoundsException("Line " + line + " of " + lineCount() + " in " + file);
+        }
+    }
+
+    // ========== ENCODING ==========
+
+    private static long blockPosition(long block) {
+        return HEADER_BYTES + block * BLOCK_BYTES;
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last byte
+    private static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static int varintSize(long value) {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of index");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sidecar.close();
+        } finally {
+            data.close();
+        }
+    }
+}
+
+/*
+ * LINE INDEX QUICK REFERENCE:
+ *
+ * OPEN (builds or updates app.log.idx):
+ * try (LineIndex index = LineIndex.open(Path.of("app.log"))) {
+ *     long lines = index.lineCount();
+ *     List<String> page = index.readLines(1_000_000, 50);   // 0-based
+ *     long offset = index.lineStart(42);
+ * }
+ *
+ * FOLLOWING A GROWING FILE:
+ * index.update();                        // scans only the appended bytes
+ *
+ * SIDECAR FORMAT:
+ * header: magic, version, indexedBytes, lineCount, lastLineEnd
+ * 4 KB blocks: firstLine, firstLineEnd, lineCount, varint line lengths
+ *
+ * VARINT SIZES:
+ * length < 128      -> 1 byte
+ * length < 16384    -> 2 bytes
+ *
+ * HOW TO RUN:
+ * javac LineIndex.java
+ * java LineIndex
+ */
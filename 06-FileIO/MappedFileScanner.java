@@ -0,0 +1,312 @@
+/**
+ * MappedFileScanner.java
+ *
+ * This program demonstrates scanning a large text file in parallel without
+ * decoding it into Strings. The file is memory-mapped with FileChannel.map(),
+ * so the operating system pages it in directly; no read() copies and no
+ * char[] buffers. The mapping is split into chunks that end at line breaks,
+ * and every chunk is scanned on its own Fork/Join worker.
+ *
+ * Byte-level versions of the ReadingFiles helpers:
+ * - countWords()               whitespace-to-word transitions, as in ReadingFiles
+ * - findLinesContaining()      Boyer-Moore-Horspool; only matching lines are decoded
+ * - countCharacterFrequency()  letters and digits, decoding UTF-8 by hand
+ *
+ * Key Concepts:
+ * - FileChannel.map() and MappedByteBuffer (at most 2 GB per mapping, so
+ *   every chunk gets its own mapping)
+ * - Splitting at '\n' so no line (and no UTF-8 sequence) spans two chunks
+ * - Working on UTF-8 bytes: ASCII bytes never occur inside a multi-byte
+ *   character, so searching for '\n', ' ' or an encoded keyword is safe
+ * - Parallel streams over chunks, results combined in file order
+ *
+ * Java Features Used: Java 16+ (records)
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class MappedFileScanner {
+
+    // One mapping per chunk, so a chunk must stay below the 2 GB mapping limit
+    static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    // How far ahead split() looks for the next line break at a time
+    private static final int BOUNDARY_PROBE_BYTES = 4096;
+
+    // A part of the file [start, end); starts at a line start, ends after a '\n' or at EOF
+    record Chunk(long start, long end) {
+        long size() {
+            return end - start;
+        }
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println("========== MAPPED FILE SCANNER DEMONSTRATION ==========\n");
+
+        Path file = Path.of("mapped_sample.txt");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 1; i <= 100_000; i++) {
+                content.append("Line ").append(i).append(": Java reads mapped bytes ")
+                    .append(i % 7 == 0 ? "très vite" : "quickly").append('\n');
+            }
+            Files.writeString(file, content);
+
+
+            // ========== CHUNKS ==========
+
+            System.out.println("--- 1. Splitting at Line Boundaries ---\n");
+
+            List<Chunk> chunks = split(file, 4);
+            System.out.println("File size: " + Files.size(file) + " bytes");
+            chunks.forEach(chunk -> System.out.println("  " + chunk + " (" + chunk.size() + " bytes)"));
+
+
+            // ========== SCANS ==========
+
+            System.out.println("\n\n--- 2. Parallel Byte-Level Scans ---\n");
+
+            System.out.println("Words:               " + countWords(file));
+            List<String> matches = findLinesContaining(file, "très");
+            System.out.println("Lines with 'très':   " + matches.size());
+            System.out.println("First match:         " + matches.get(0));
+
+            Map<Character, Long> frequency = countCharacterFrequency(file);
+            System.out.println("Count of 'è':        " + frequency.get('è'));
+            System.out.println("Count of 'J':        " + frequency.get('J'));
+
+        } catch (IOException e) {
+            System.err.println("Error scanning file: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // ========== SPLITTING ==========
+
+    // About one chunk per core, each no larger than MAX_CHUNK_BYTES
+    static List<Chunk> split(Path path) throws IOException {
+        return split(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    static List<Chunk> split(Path path, int chunkCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return split(channel, chunkCount);
+        }
+    }
+
+    /**
+     * Cuts the file into about chunkCount pieces. Each cut is moved forward
+     * to just after the next '\n', so every chunk holds whole lines.
+     */
+    static List<Chunk> split(FileChannel channel, int chunkCount) throws IOException {
+        if (chunkCount < 1) {
+            throw new IllegalArgumentException("Chunk count must be positive: " + chunkCount);
+        }
+        long size = channel.size();
+        long target = Math.max(1, Math.min(MAX_CHUNK_BYTES, (size + chunkCount - 1) / chunkCount));
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_BYTES);
+        long start = 0;
+        while (start < size) {
+            long end = start + target >= size ? size : nextLineStart(channel, start + target, probe);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line at byte " + start + " is too long to map");
+            }
+            chunks.add(new Chunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    // Offset just after the first '\n' at or after from (or the file size)
+    private static long nextLineStart(FileChannel channel, long from, ByteBuffer probe) throws IOException {
+        long position = from;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    // Maps every chunk and runs scan on it in parallel; results are in file order
+    static <R> List<R> scanChunks(Path path, Function<ByteBuffer, R> scan) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Chunk> chunks = split(channel, Runtime.getRuntime().availableProcessors());
+            try {
+                return chunks.parallelStream()
+                    .map(chunk -> scan.apply(map(channel, chunk)))
+                    .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Chunk chunk) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ========== WORDS ==========
+
+    static long countWords(Path path) throws IOException {
+        // Every chunk starts right after a '\n', so per-chunk counts simply add up
+        return scanChunks(path, MappedFileScanner::countWords).stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+
+    // Same rule as ReadingFiles.countWords(): a word starts where whitespace ends
+    static long countWords(ByteBuffer bytes) {
+        long words = 0;
+        boolean inWord = false;
+        for (int i = bytes.position(), limit = bytes.limit(); i < limit; i++) {
+            byte b = bytes.get(i);
+            boolean whitespace = b == ' ' || (b >= '\t' && b <= '\r');
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return words;
+    }
+
+    // ========== LINE SEARCH ==========
+
+    // Lines containing keyword, in file order; the file must be UTF-8
+    static List<String> findLinesContaining(Path path, String keyword) throws IOException {
+        byte[] pattern = keyword.getBytes(StandardCharsets.UTF_8);
+        List<String> result = new ArrayList<>();
+        for (List<String> part : scanChunks(path, bytes -> findLinesContaining(bytes, pattern))) {
+            result.addAll(part);
+        }
+        return result;
+    }
+
+    // Boyer-Moore-Horspool over the whole chunk (see ByteSearch.java), not line by line
+    static List<String> findLinesContaining(ByteBuffer bytes, byte[] pattern) {
+        return new ByteSearch(pattern).matchingLines(bytes, 0)
+            .map(ByteSearch.Match::line)
+            .toList();
+    }
+
+    // Decodes bytes [from, to) as UTF-8, dropping a trailing '\r' like readLine() does
+    static String decodeLine(ByteBuffer bytes, int from, int to) {
+        if (to > from && bytes.get(to - 1) == '\r') {
+            to--;
+        }
+        byte[] line = new byte[to - from];
+        bytes.get(from, line);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+
+    // ========== CHARACTER FREQUENCY ==========
+
+    // Letters and digits, like ReadingFiles.countCharacterFrequency(); the file must be UTF-8
+    static Map<Character, Long> countCharacterFrequency(Path path) throws IOException {
+        long[] total = new long[Character.MAX_VALUE + 1];
+        for (int[] counts : scanChunks(path, MappedFileScanner::countChars)) {
+            for (int c = 0; c < counts.length; c++) {
+                total[c] += counts[c];
+            }
+        }
+        Map<Character, Long> frequency = new HashMap<>();
+        for (int c = 0; c < total.length; c++) {
+            if (total[c] != 0) {
+                frequency.put((char) c, total[c]);
+            }
+        }
+        return frequency;
+    }
+
+    /**
+     * Decodes UTF-8 by hand into a char-indexed count array. Characters
+     * outside the Basic Multilingual Plane (4-byte sequences) become two
+     * surrogate chars in a String, and surrogates are not letters, so they
+     * are skipped here too. Malformed bytes are skipped one at a time.
+     */
+    static int[] countChars(ByteBuffer bytes) {
+        int[] counts = new int[Character.MAX_VALUE + 1];
+        int i = bytes.position();
+        int limit = bytes.limit();
+        while (i < limit) {
+            int b0 = bytes.get(i) & 0xFF;
+            int c;
+            int length;
+            if (b0 < 0x80) {
+                c = b0;
+                length = 1;
+            } else if ((b0 & 0xE0) == 0xC0 && i + 1 < limit) {
+                c = (b0 & 0x1F) << 6 | (bytes.get(i + 1) & 0x3F);
+                length = 2;
+            } else if ((b0 & 0xF0) == 0xE0 && i + 2 < limit) {
+                c = (b0 & 0x0F) << 12 | (bytes.get(i + 1) & 0x3F) << 6 | (bytes.get(i + 2) & 0x3F);
+                length = 3;
+            } else {
+                i += (b0 & 0xF8) == 0xF0 ? 4 : 1;
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                counts[c]++;
+            }
+            i += length;
+        }
+        return counts;
+    }
+}
+
+/*
+ * MAPPED FILE SCANNER QUICK REFERENCE:
+ *
+ * SCANS (parallel, UTF-8 bytes, no per-line Strings):
+ * MappedFileScanner.countWords(path);
+ * MappedFileScanner.findLinesContaining(path, "ERROR");
+ * MappedFileScanner.countCharacterFrequency(path);
+ *
+ * YOUR OWN SCAN:
+ * List<R> perChunk = MappedFileScanner.scanChunks(path, buffer -> ...);
+ * // buffer covers whole lines; combine perChunk in order
+ *
+ * MAPPING BASICS:
+ * try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+ *     MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, offset, length);
+ *     buf.get(i);                        // absolute get, no position changes
+ * }
+ *
+ * HOW TO RUN:
+ * javac MappedFileScanner.java
+ * java MappedFileScanner
+ */
@@ -210,6 +210,32 @@ public class ReadingFiles {
             System.err.println("Error: " + e.getMessage());
         }
 
+        // Fastest for multi-GB files - mapped bytes, scanned in parallel chunks
+        System.out.println("\nApproach 3: Memory-mapped parallel scan (see MappedFileScanner.java)");
+        try {
+            long startTime = System.currentTimeMillis();
+            long words = MappedFileScanner.countWords(Path.of("large_file.txt"));
+            long endTime = System.currentTimeMillis();
+            System.out.println("Counted " + words + " words in " + (endTime - startTime) + "ms");
+            System.out.println("Memory usage: Pages mapped by the OS, no Strings created");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+
+        // Paging through a file - one scan builds a sidecar index, then any line is a lookup away
+        System.out.println("\nApproach 4: Jump to line N with a line index (see LineIndex.java)");
+        try (LineIndex index = LineIndex.open(Path.of("large_file.txt"))) {
+            long startTime = System.currentTimeMillis();
+            List<String> page = index.readLines(900, 3);
+            long endTime = System.currentTimeMillis();
+            System.out.println("Read lines 900-902 (0-based) of " + index.lineCount()
+                + " in " + (endTime - startTime) + "ms");
+            System.out.println("First: " + page.get(0));
+            System.out.println("Memory usage: About one byte of index per line, in large_file.txt.idx");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+
 
         // ========== PRACTICAL EXAMPLES ==========
 
@@ -292,25 +318,23 @@ public class ReadingFiles {
 
         Path testFile = Path.of("large_file.txt");
 
-        System.out.println("Reading " + testFile.getFileName() + " using different methods:\n");
-
-        // Method 1: BufferedReader
-        long start = System.nanoTime();
-        readWithBufferedReader(testFile);
-        long time1 = System.nanoTime() - start;
-        System.out.println("BufferedReader: " + time1 / 1_000_000 + "ms");
-
-        // Method 2: Files.readAllLines
-        start = System.nanoTime();
-        readWithReadAllLines(testFile);
-        long time2 = System.nanoTime() - start;
-        System.out.println("Files.readAllLines: " + time2 / 1_000_000 + "ms");
+        System.out.println("Reading " + testFile.getFileName() + " using different methods");
+        System.out.println("(3 warmups, median of 5 runs; see FileIOBenchmark.java for the full matrix):\n");
 
-        // Method 3: Files.lines (Stream)
-        start = System.nanoTime();
-        readWithStream(testFile);
-        long time3 = System.nanoTime() - start;
-        System.out.println("Files.lines (Stream): " + time3 / 1_000_000 + "ms");
+        Path compressedFile = Path.of("large_file.txt.gz");
+        try {
+            long bytes = Files.size(testFile);
+            CompressedIO.copy(testFile, compressedFile);
+
+            FileIOBenchmark.measure("BufferedReader", bytes, () -> readWithBufferedReader(testFile));
+            FileIOBenchmark.measure("Files.readAllLines", bytes, () -> readWithReadAllLines(testFile));
+            FileIOBenchmark.measure("Files.lines (Stream)", bytes, () -> readWithStream(testFile));
+            // gzip-compressed copy, inflated on a background thread (see CompressedIO.java)
+            FileIOBenchmark.measure("BufferedReader (gzip)", bytes,
+                () -> readWithBufferedReader(compressedFile));
+        } catch (IOException e) {
+            System.err.println("Error measuring: " + e.getMessage());
+        }
 
 
         // ========== CLEANUP ==========
@@ -382,24 +406,39 @@ public class ReadingFiles {
         }
     }
 
+    // Counts whitespace-to-word transitions in a reused char buffer: no regex,
+    // no String per line and no String[] per line (same \\s class as split())
     private static int countWords(Path path) {
-        try (Stream<String> lines = Files.lines(path)) {
-            return (int) lines
-                .flatMap(line -> Arrays.stream(line.split("\\s+")))
-                .filter(word -> !word.isEmpty())
-                .count();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            char[] buffer = new char[8192];
+            int words = 0;
+            boolean inWord = false;
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    char c = buffer[i];
+                    boolean whitespace = c == ' ' || (c >= '\t' && c <= '\r');
+                    if (!whitespace && !inWord) {
+                        words++;
+                    }
+                    inWord = !whitespace;
+                }
+            }
+            return words;
         } catch (IOException e) {
             System.err.println("Error counting words: " + e.getMessage());
             return 0;
         }
     }
 
+    // Searches the file's UTF-8 bytes (see ByteSearch.java) and decodes only
+    // the lines that match, instead of decoding every line for contains()
     private static List<String> findLinesContaining(Path path, String keyword) {
-        try (Stream<String> lines = Files.lines(path)) {
-            return lines
-                .filter(line -> line.contains(keyword))
+        try (Stream<ByteSearch.Match> matches = ByteSearch.matchingLines(path, keyword)) {
+            return matches
+                .map(ByteSearch.Match::line)
                 .toList();
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("Error finding lines: " + e.getMessage());
             return new ArrayList<>();
         }
@@ -420,24 +459,27 @@ public class ReadingFiles {
         return frequency;
     }
 
+    // RFC 4180 parsing (quoted fields, embedded commas) with CsvReader; for
+    // large files use CsvReader.forEach() or stream() instead of a List
     private static List<String[]> readCSV(Path path) {
         List<String[]> data = new ArrayList<>();
-        try (Stream<String> lines = Files.lines(path)) {
-            lines.skip(1) // Skip header
-                 .map(line -> line.split(","))
-                 .forEach(data::add);
+        try (CsvReader csv = CsvReader.open(path)) {
+            csv.readHeader(); // Skip header
+            csv.forEach(row -> data.add(row.toArray()));
         } catch (IOException e) {
             System.err.println("Error reading CSV: " + e.getMessage());
         }
         return data;
     }
 
+    // Reads blocks backwards from the end (see ReverseLineReader.java), so
+    // only the lines printed are held in memory, not the whole file
     private static void readFileReverse(Path path) {
-        try {
-            List<String> lines = Files.readAllLines(path);
-            System.out.println("First 3 lines in reverse:");
-            for (int i = Math.min(2, lines.size() - 1); i >= 0; i--) {
-                System.out.println("  " + lines.get(i));
+        try (ReverseLineReader reader = ReverseLineReader.open(path)) {
+            System.out.println("Last 3 lines in reverse:");
+            String line;
+            for (int i = 0; i < 3 && (line = reader.readLine()) != null; i++) {
+                System.out.println("  " + line);
             }
         } catch (IOException e) {
             System.err.println("Error reading in reverse: " + e.getMessage());
@@ -457,8 +499,9 @@ public class ReadingFiles {
         }
     }
 
+    // CompressedIO.newReader() reads plain files as usual and inflates .gz/.deflate
     private static void readWithBufferedReader(Path path) {
-        try (BufferedReader reader = Files.newBufferedReader(path)) {
+        try (BufferedReader reader = CompressedIO.newReader(path)) {
             while (reader.readLine() != null) {
                 // Just read, don't process
             }
@@ -489,6 +532,8 @@ public class ReadingFiles {
             Files.deleteIfExists(Path.of("sample.txt"));
             Files.deleteIfExists(Path.of("numbers.txt"));
             Files.deleteIfExists(Path.of("large_file.txt"));
+            Files.deleteIfExists(Path.of("large_file.txt.idx"));
+            Files.deleteIfExists(Path.of("large_file.txt.gz"));
             Files.deleteIfExists(Path.of("data.csv"));
             Files.deleteIfExists(Path.of("config.properties"));
             System.out.println("✓ Cleanup completed");
@@ -534,7 +579,7 @@ public class ReadingFiles {
  * - Large files: BufferedReader or Files.lines() with Stream
  * - Binary files: Files.readAllBytes()
  * - Parsing: Scanner
- * - CSV/structured data: BufferedReader + split() or CSV library
+ * - CSV/structured data: CsvReader (streaming, RFC 4180) or a CSV library
  *
  * BEST PRACTICES:
  * ✓ Always use try-with-resources
@@ -0,0 +1,280 @@
+/**
+ * ReverseLineReader.java
+ *
+ * This program demonstrates reading a text file from the end, last line
+ * first - what `tail` does. Files.readAllLines() followed by a backwards loop
+ * holds the whole file in memory to show a few lines; for a multi-GB log that
+ * is seconds of I/O and an OutOfMemoryError waiting to happen.
+ *
+ * ReverseLineReader positions a SeekableByteChannel near the end, reads one
+ * block, and walks it backwards looking for '\n'. When a block runs out
+ * before a line break, the block before it is read and put in front of the
+ * bytes that are still needed. Memory is one block plus the longest line
+ * returned, however large the file is.
+ *
+ * Lines are split on the byte '\n' and decoded only once complete. In UTF-8
+ * the byte 0x0A never occurs inside a multi-byte character, so a block
+ * boundary that cuts a character in half does no harm: both halves are
+ * joined before decoding.
+ *
+ * Key Concepts:
+ * - SeekableByteChannel.position() to read a file in any order
+ * - Searching bytes backwards, decoding whole lines only
+ * - Memory proportional to the lines read, not to the file
+ * - "\n" and "\r\n" line endings; a final line break adds no empty line
+ *
+ * Used by: ReadingFiles.readFileReverse()
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ReverseLineReader implements Closeable {
+
+    static final int DEFAULT_BLOCK_SIZE = 8192;
+
+    private final SeekableByteChannel channel;
+    private final int blockSize;
+    // bytes[start, end) holds file bytes [position, position + end - start) not yet returned
+    private byte[] bytes;
+    private int start;
+    private int end;
+    private long position;
+    private boolean finished;
+
+    public static void main(String[] args) {
+
+        System.out.println("========== REVERSE LINE READER DEMONSTRATION ==========\n");
+
+        Path file = Path.of("reverse_sample.log");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int i = 1; i <= 500_000; i++) {
+                content.append("2024-01-15 10:").append(i % 60).append(" entry ").append(i)
+                    .append(i % 3 == 0 ? " naïve café ☕" : " plain ascii").append('\n');
+            }
+            Files.writeString(file, content);
+            System.out.println("Log size: " + Files.size(file) / 1024 + " KB\n");
+
+
+            // ========== READ BACKWARDS ==========
+
+            System.out.println("--- 1. Last Lines, Newest First ---\n");
+
+            try (ReverseLineReader reader = open(file)) {
+                String line;
+                for (int i = 0; i < 3 && (line = reader.readLine()) != null; i++) {
+                    System.out.println("  " + line);
+                }
+            }
+
+
+            // ========== TAIL ==========
+
+            System.out.println("\n\n--- 2. tail -n 5 (File Order) ---\n");
+
+            long start = System.nanoTime();
+            List<String> tail = tail(file, 5);
+            long tailTime = System.nanoTime() - start;
+            tail.forEach(line -> System.out.println("  " + line));
+
+            start = System.nanoTime();
+            List<String> all = Files.readAllLines(file);
+            List<String> expected = all.subList(all.size() - 5, all.size());
+            long readAllTime = System.nanoTime() - start;
+            System.out.printf("%ntail():          %.2fms%n", tailTime / 1e6);
+            System.out.printf("readAllLines():  %.2fms (same lines: %b)%n", readAllTime / 1e6, expected.equals(tail));
+
+
+            // ========== TINY BLOCKS ==========
+
+            System.out.println("\n\n--- 3. Block Boundaries Inside Characters ---\n");
+
+            // 7-byte blocks cut most of the 2- and 3-byte characters in half
+            try (ReverseLineReader reader = new ReverseLineReader(Files.newByteChannel(file), 7);
+                 Stream<String> lines = reader.lines()) {
+                System.out.println("Matching lines with 7-byte blocks: "
+                    + lines.limit(1000).filter(line -> line.endsWith("naïve café ☕")).count() + " of 1000");
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error reading in reverse: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    // The file must be UTF-8 (or ASCII)
+    static ReverseLineReader open(Path path) throws IOException {
+        return new ReverseLineReader(Files.newByteChannel(path), DEFAULT_BLOCK_SIZE);
+    }
+
+    // Reads the channel from its current size backwards; closes it on close()
+    ReverseLineReader(SeekableByteChannel channel, int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.bytes = new byte[blockSize];
+        this.position = channel.size();
+        if (position == 0) {
+            finished = true;
+        } else {
+            readBlock();
+            // "a\nb\n" has two lines, not an empty third one
+            if (bytes[end - 1] == '\n') {
+                end--;
+            }
+        }
+    }
+
+    // ========== READING ==========
+
+    /**
+     * Returns the line before the one returned last, starting with the last
+     * line of the file, or null once the first line has been returned.
+     */
+    String readLine() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int searchFrom = end - 1;
+        while (true) {
+            for (int i = searchFrom; i >= start; i--) {
+                if (bytes[i] == '\n') {
+                    String line = decode(i + 1, end);
+                    end = i;
+                    return line;
+                }
+            }
+            if (position == 0) {
+                finished = true;
+                return decode(start, end);
+            }
+            // Only the new block can hold the next '\n'
+            searchFrom = readBlock() - 1;
+        }
+    }
+
+    /**
+     * Reads the block before position into bytes[0, n) and moves the bytes
+     * still needed to just behind it. The array only grows when a single
+     * line is longer than what it already holds.
+     */
+    private int readBlock() throws IOException {
+        int block = (int) Math.min(blockSize, position);
+        int keep = end - start;
+        if (block + keep > bytes.length) {
+            byte[] larger = new byte[Math.max(block + keep, bytes.length * 2)];
+            System.arraycopy(bytes, start, larger, block, keep);
+            bytes = larger;
+        } else {
+            System.arraycopy(bytes, start, bytes, block, keep);
+        }
+        position -= block;
+        channel.position(position);
+        ByteBuffer target = ByteBuffer.wrap(bytes, 0, block);
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                throw new IOException("File shrank while reading it backwards");
+            }
+        }
+        start = 0;
+        end = block + keep;
+        return block;
+    }
+
+    // Decodes bytes[from, to) as UTF-8, dropping a trailing '\r' like readLine() does
+    private String decode(int from, int to) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    // Lazy stream of the lines, last line first; closing it does not close the reader
+    Stream<String> lines() {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<String>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                try {
+                    String line = readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    action.accept(line);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }, false);
+    }
+
+    // The last n lines in file order, like tail -n
+    static List<String> tail(Path path, int n) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (ReverseLineReader reader = open(path)) {
+            String line;
+            while (lines.size() < n && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        Collections.reverse(lines);
+        return lines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
+
+/*
+ * REVERSE LINE READER QUICK REFERENCE:
+ *
+ * NEWEST FIRST:
+ * try (ReverseLineReader reader = ReverseLineReader.open(path)) {
+ *     String line;
+ *     while ((line = reader.readLine()) != null) {
+ *         // last line first
+ *     }
+ * }
+ *
+ * TAIL:
+ * List<String> last = ReverseLineReader.tail(path, 100);   // file order
+ *
+ * AS A STREAM:
+ * reader.lines().filter(l -> l.contains("ERROR")).findFirst();   // most recent error
+ *
+ * WHY IT IS SAFE FOR UTF-8:
+ * '\n' (0x0A) never appears inside a multi-byte UTF-8 character, so lines
+ * are found on raw bytes and decoded only when complete
+ *
+ * HOW TO RUN:
+ * javac ReverseLineReader.java
+ * java ReverseLineReader
+ */
@@ -0,0 +1,616 @@
+/**
+ * WriteAheadLog.java
+ *
+ * This program demonstrates a durable append-only log. WritingFiles shows
+ * StandardOpenOption.APPEND and flush(), but flush() only hands bytes to
+ * the operating system: after a power failure they can still be gone. A
+ * record is durable once FileChannel.force() has returned, and force() is
+ * expensive - one disk flush, often milliseconds. Forcing after every
+ * record limits a log to a few hundred records per second.
+ *
+ * Group commit removes that limit. append() copies the record into a
+ * shared batch and waits. The first waiter that finds no force() running
+ * becomes the leader: it takes the whole batch, writes it with one
+ * write(), calls force() once and wakes everybody whose record was in it.
+ * While it does that, the other threads fill the next batch. The more
+ * threads append at the same time, the more records share each force().
+ *
+ * File format - a directory of segments named after the sequence number
+ * of their first record (00000000000000000000.wal, ...). Each record is
+ *
+ *   [int length][int CRC-32C of length and payload][payload]
+ *
+ * A new segment is started when the current one would grow past the
+ * configured size, so old segments can be deleted once their records are
+ * no longer needed.
+ *
+ * Recovery - a crash can leave half a record at the end of the last
+ * segment (a "torn" write). open() reads every record, and at the first
+ * one in the last segment whose length is impossible or whose CRC does not
+ * match it truncates the segment. Everything append() returned for is
+ * before that point. Earlier segments were forced before the next one was
+ * started, so a bad record there is corruption, and open() fails instead.
+ *
+ * Key Concepts:
+ * - FileChannel.force() vs flush(): durability has a price
+ * - Group commit: one force() per batch, shared by concurrent appenders
+ * - Length-prefixed, checksummed records (java.util.zip.CRC32C)
+ * - Crash recovery by truncating torn tails
+ * - Segment rolling and fsync of the directory for new segment files
+ *
+ * Used by: WritingFiles (appending to files)
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+public class WriteAheadLog implements Closeable {
+
+    static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+    static final int MAX_RECORD_BYTES = 16 << 20;
+    private static final int HEADER_BYTES = 8;
+    private static final String SUFFIX = ".wal";
+
+    interface RecordHandler {
+        void accept(long sequence, byte[] payload) throws IOException;
+    }
+
+    // What open() found: valid records, and bytes cut off a torn tail
+    record Recovery(long records, long truncatedBytes) {}
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Recovery recovery;
+
+    private FileChannel segment;
+    private long segmentStart;
+    private long segmentSize;
+
+    // Guarded by lock: the batch being filled, and who is committing
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+    private ByteBuffer filling = ByteBuffer.allocateDirect(1 << 20);
+    private ByteBuffer spare = ByteBuffer.allocateDirect(1 << 20);
+    private long nextSequence;
+    private long durableSequence;
+    private boolean committing;
+    private boolean closed;
+    private IOException failure;
+    private long forces;
+
+    public static void main(String[] args) throws InterruptedException {
+
+        System.out.println("========== WRITE-AHEAD LOG DEMONSTRATION ==========\n");
+
+        Path dir = Path.of("wal_demo");
+        try {
+
+            // ========== APPEND AND REPLAY ==========
+
+            System.out.println("--- 1. Append, Reopen, Replay ---\n");
+
+            try (WriteAheadLog wal = open(dir)) {
+                for (String event : List.of("order created", "payment received", "order shipped")) {
+                    long sequence = wal.append(event.getBytes(StandardCharsets.UTF_8));
+                    System.out.println("Durable #" + sequence + ": " + event);
+                }
+            }
+            try (WriteAheadLog wal = open(dir)) {
+                System.out.println("\nReopened: " + wal.recovery());
+                wal.replay(0, (sequence, payload) ->
+                    System.out.println("  #" + sequence + " " + new String(payload, StandardCharsets.UTF_8)));
+            }
+            deleteLog(dir);
+
+
+            // ========== GROUP COMMIT ==========
+
+            System.out.println("\n\n--- 2. Group Commit Throughput ---\n");
+
+            byte[] payload = new byte[100];
+            try (WriteAheadLog wal = open(dir)) {
+                int records = 2_000;
+                long start = System.nanoTime();
+                for (int i = 0; i < records; i++) {
+                    wal.append(payload);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("1 thread:   %,9.0f records/s, %,7d forces%n", records / seconds, wal.forces());
+            }
+            deleteLog(dir);
+
+            for (int threadCount : new int[] {8, 64, 256}) {
+                try (WriteAheadLog wal = open(dir)) {
+                    int perThread = 200_000 / threadCount;
+                    long start = System.nanoTime();
+                    List<Thread> threads = new ArrayList<>();
+                    for (int t = 0; t < threadCount; t++) {
+                        Thread thread = new Thread(() -> {
+                            try {
+                                for (int i = 0; i < perThread; i++) {
+                                    wal.append(payload);
+                                }
+                            } catch (IOException e) {
+                                System.err.println("Append failed: " + e.getMessage());
+                            }
+                        });
+                        thread.start();
+                        threads.add(thread);
+                    }
+                    for (Thread thread : threads) {
+                        thread.join();
+                    }
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    long records = (long) perThread * threadCount;
+                    System.out.printf("%d threads: %,9.0f records/s, %,7d forces (%.0f records per force)%n",
+                        threadCount, records / seconds, wal.forces(), (double) records / wal.forces());
+                }
+                deleteLog(dir);
+            }
+
+
+            // ========== RECOVERY ==========
+
+            System.out.println("\n\n--- 3. Recovering From a Torn Write ---\n");
+
+            Path last;
+            try (WriteAheadLog wal = open(dir)) {
+                for (int i = 0; i < 10; i++) {
+                    wal.append(("event " + i).getBytes(StandardCharsets.UTF_8));
+                }
+                last = wal.segmentPath(wal.segmentStart());
+            }
+            // Simulate a crash in the middle of writing record 10
+            ByteBuffer torn = ByteBuffer.allocate(HEADER_BYTES + 4);
+            torn.putInt(100).putInt(0x12345678).put("even".getBytes(StandardCharsets.UTF_8)).flip();
+            try (FileChannel channel = FileChannel.open(last, StandardOpenOption.APPEND)) {
+                channel.write(torn);
+            }
+            System.out.println("Segment size after the crash: " + Files.size(last) + " bytes");
+            try (WriteAheadLog wal = open(dir)) {
+                System.out.println("Reopened: " + wal.recovery());
+                System.out.println("Segment size after recovery: " + Files.size(last) + " bytes");
+                long next = wal.append("event 10".getBytes(StandardCharsets.UTF_8));
+                System.out.println("Next record continues at #" + next);
+            }
+            deleteLog(dir);
+
+
+            // ========== SEGMENTS ==========
+
+            System.out.println("\n\n--- 4. Segment Rolling ---\n");
+
+            try (WriteAheadLog wal = open(dir, 4096)) {
+                for (int i = 0; i < 200; i++) {
+                    wal.append(("event " + i + " with some padding").getBytes(StandardCharsets.UTF_8));
+                }
+                System.out.println("Segments with 4 KB limit: " + segmentFiles(dir).size());
+                segmentFiles(dir).stream().limit(3)
+                    .forEach(path -> System.out.println("  " + path.getFileName()));
+                int deleted = wal.deleteSegmentsBefore(150);
+                System.out.println("Deleted " + deleted + " segments before record #150; "
+                    + segmentFiles(dir).size() + " left");
+                long[] first = {-1};
+                wal.replay(0, (sequence, bytes) -> {
+                    if (first[0] < 0) {
+                        first[0] = sequence;
+                    }
+                });
+                System.out.println("Oldest record still in the log: #" + first[0]);
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error in write-ahead log: " + e.getMessage());
+        } finally {
+            try {
+                deleteLog(dir);
+            } catch (IOException e) {
+                System.err.println("Cleanup error: " + e.getMessage());
+            }
+        }
+
+
+        System.out.println("\n\n========== END OF DEMONSTRATION ==========");
+    }
+
+    static WriteAheadLog open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    // Opens or creates the log in directory, repairing a torn tail first
+    static WriteAheadLog open(Path directory, long segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        return new WriteAheadLog(directory, segmentBytes);
+    }
+
+    private WriteAheadLog(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.recovery = recover();
+        this.durableSequence = nextSequence;
+    }
+
+    // ========== APPENDING ==========
+
+    /**
+     * Appends payload and returns its sequence number once it is on disk.
+     * After a failed write or force() the log refuses further appends:
+     * whether the failed batch reached the disk is unknown.
+     */
+    long append(byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Record too large: " + payload.length + " bytes");
+        }
+        int checksum = checksum(payload);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw new IOException("Write-ahead log failed earlier", failure);
+            }
+            long sequence = nextSequence++;
+            ensureCapacity(HEADER_BYTES + payload.length);
+            filling.putInt(payload.length).putInt(checksum).put(payload);
+
+            while (durableSequence <= sequence) {
+                if (failure != null) {
+                    throw new IOException("Write-ahead log failed", failure);
+                }
+                if (committing) {
+                    committed.awaitUninterruptibly();
+                } else {
+                    commit();
+                }
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes and forces the current batch. Called with the lock held; the
+     * lock is released during the I/O so others can fill the next batch.
+     */
+    private void commit() throws IOException {
+        committing = true;
+        ByteBuffer batch = filling;
+        filling = spare;
+        long first = durableSequence;
+        long end = nextSequence;
+        lock.unlock();
+        IOException error = null;
+        try {
+            batch.flip();
+            writeBatch(batch, first);
+            segment.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.lock();
+        }
+        batch.clear();
+        spare = batch;
+        committing = false;
+        forces++;
+        if (error != null) {
+            failure = error;
+        } else {
+            durableSequence = end;
+        }
+        committed.signalAll();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // Writes the batch, starting new segments at record boundaries when the size limit is reached
+    private void writeBatch(ByteBuffer batch, long firstSequence) throws IOException {
+        long sequence = firstSequence;
+        int start = 0;
+        int position = 0;
+        while (position < batch.limit()) {
+            int size = HEADER_BYTES + batch.getInt(position);
+            if (segmentSize > 0 && segmentSize + size > segmentBytes) {
+                writeFully(batch.slice(start, position - start));
+                segment.force(false);
+                segment.close();
+                startSegment(sequence);
+                start = position;
+            }
+            segmentSize += size;
+            position += size;
+            sequence++;
+        }
+        writeFully(batch.slice(start, position - start));
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+    }
+
+    // Grows the batch being filled (only while the lock is held)
+    private void ensureCapacity(int bytes) {
+        if (filling.remaining() < bytes) {
+            int needed = filling.position() + bytes;
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(needed, filling.capacity() * 2));
+            filling.flip();
+            larger.put(filling);
+            filling = larger;
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(4).putInt(0, payload.length));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    long forces() {
+        lock.lock();
+        try {
+            return forces;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Recovery recovery() {
+        return recovery;
+    }
+
+    // ========== SEGMENTS AND RECOVERY ==========
+
+    long segmentStart() {
+        return segmentStart;
+    }
+
+    Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(segmentPath(firstSequence),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentStart = firstSequence;
+        segmentSize = segment.size();
+        syncDirectory();
+    }
+
+    // A new file name is only durable once the directory itself is forced (not supported everywhere)
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Windows cannot open directories; NTFS journals the name anyway
+        }
+    }
+
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Validates every segment in order. A bad record in the last segment
+     * marks the crash point, and the segment is truncated there. A bad
+     * record in an earlier segment, or a gap between segments, is real data
+     * loss, not a torn write, and fails the open.
+     */
+    private Recovery recover() throws IOException {
+        List<Path> segments = segmentFiles(directory);
+        long records = 0;
+        long truncated = 0;
+        nextSequence = segments.isEmpty() ? 0 : firstSequence(segments.get(0));
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            if (firstSequence(path) != nextSequence) {
+                throw new IOException("Missing records before " + path.getFileName()
+                    + ": expected segment starting at #" + nextSequence);
+            }
+            long[] valid = scan(path, nextSequence, Long.MAX_VALUE, null);
+            records += valid[1];
+            long size = Files.size(path);
+            if (valid[0] < size && i < segments.size() - 1) {
+                throw new IOException("Corrupt record #" + (nextSequence + valid[1]) + " at offset "
+                    + valid[0] + " of " + path.getFileName() + ", which is not the last segment");
+            }
+            if (valid[0] < size) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid[0]);
+                    channel.force(true);
+                }
+                truncated = size - valid[0];
+            }
+            if (i == segments.size() - 1) {
+                startSegment(nextSequence);
+            }
+            nextSequence += valid[1];
+        }
+        if (segments.isEmpty()) {
+            startSegment(nextSequence);
+        }
+        return new Recovery(records, truncated);
+    }
+
+    /**
+     * Reads records from one segment until end of file or the first torn
+     * record, handing those with sequence >= from (and < until) to handler.
+     * Returns {valid bytes, valid records}.
+     */
+    private static long[] scan(Path path, long firstSequence, long until, RecordHandler handler,
+                               long from) throws IOException {
+        long size = Files.size(path);
+        long offset = 0;
+        long count = 0;
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (offset + HEADER_BYTES <= size && firstSequence + count < until) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || length > MAX_RECORD_BYTES || offset + HEADER_BYTES + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(ByteBuffer.allocate(4).putInt(0, length));
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                if (handler != null && firstSequence + count >= from) {
+                    handler.accept(firstSequence + count, payload);
+                }
+                offset += HEADER_BYTES + length;
+                count++;
+            }
+        } catch (EOFException e) {
+            // File shorter than it claimed: the torn record starts at offset
+        }
+        return new long[] {offset, count};
+    }
+
+    private static long[] scan(Path path, long firstSequence, long until, RecordHandler handler)
+            throws IOException {
+        return scan(path, firstSequence, until, handler, firstSequence);
+    }
+
+    /**
+     * Hands every durable record with sequence >= from to handler, in order.
+     * Records appended while replay runs are not included.
+     */
+    void replay(long from, RecordHandler handler) throws IOException {
+        long until;
+        lock.lock();
+        try {
+            until = durableSequence;
+        } finally {
+            lock.unlock();
+        }
+        List<Path> segments = segmentFiles(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            long first = firstSequence(segments.get(i));
+            long next = i + 1 < segments.size() ? firstSequence(segments.get(i + 1)) : until;
+            if (next > from && first < until) {
+                scan(segments.get(i), first, until, handler, from);
+            }
+        }
+    }
+
+    /**
+     * Deletes whole segments whose records all come before sequence, e.g.
+     * after a checkpoint. The segment being written is never deleted.
+     */
+    int deleteSegmentsBefore(long sequence) throws IOException {
+        lock.lock();
+        try {
+            List<Path> segments = segmentFiles(directory);
+            int deleted = 0;
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                long nextFirst = firstSequence(segments.get(i + 1));
+                if (nextFirst > sequence || nextFirst > segmentStart) {
+                    break;
+                }
+                Files.delete(segments.get(i));
+                deleted++;
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes a closed log: its segment files and the directory
+    static void deleteLog(Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            for (Path path : segmentFiles(directory)) {
+                Files.delete(path);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Commits whatever is still in the batch, then closes the segment.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            while (committing) {
+                committed.awaitUninterruptibly();
+            }
+            try {
+                if (filling.position() > 0 && failure == null) {
+                    commit();
+                }
+            } finally {
+                closed = true;
+                segment.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
+
+/*
+ * WRITE-AHEAD LOG QUICK REFERENCE:
+ *
+ * BASIC:
+ * try (WriteAheadLog wal = WriteAheadLog.open(Path.of("events"))) {
+ *     long seq = wal.append(bytes);          // returns when the record is on disk
+ * }
+ *
+ * RECORD FORMAT:
+ * [int length][int CRC-32C(length + payload)][payload]
+ *
+ * DURABILITY:
+ * flush()            - bytes reach the OS, lost on power failure
+ * channel.force()    - bytes reach the disk; costs a disk flush
+ * group commit       - many appenders, one force() per batch
+ *
+ * RECOVERY (on open):
+ * read records in order -> first bad length/CRC -> truncate there (last segment only)
+ * wal.recovery()                              // records, truncated bytes
+ * wal.replay(fromSequence, (seq, payload) -> ...);
+ *
+ * SEGMENTS:
+ * WriteAheadLog.open(dir, 64L << 20)          // roll at 64 MB
+ * wal.deleteSegmentsBefore(checkpointSeq);    // drop old segments
+ *
+ * HOW TO RUN:
+ * javac WriteAheadLog.java
+ * java WriteAheadLog
+ */